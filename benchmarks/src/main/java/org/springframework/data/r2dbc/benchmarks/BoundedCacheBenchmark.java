@@ -0,0 +1,44 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.support.BoundedCache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended hits on one shared cache, the read path does not lock so the time per lookup should stay flat
+ * as threads are added.
+ *
+ * @author Lao Tsing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class BoundedCacheBenchmark {
+	private static final int KEYS = 1024;
+
+	private final BoundedCache<Integer, String> cache = new BoundedCache<>(4096);
+
+	@Setup
+	public void setUp() {
+		for (int i = 0; i < KEYS; i++) {
+			cache.put(i, Integer.toString(i));
+		}
+	}
+
+	@Benchmark
+	@Threads(1)
+	public String hit() {
+		return cache.get(ThreadLocalRandom.current().nextInt(KEYS));
+	}
+
+	@Benchmark
+	@Threads(8)
+	public String contendedHit() {
+		return cache.get(ThreadLocalRandom.current().nextInt(KEYS));
+	}
+}
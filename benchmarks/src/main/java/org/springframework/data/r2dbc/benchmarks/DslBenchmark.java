@@ -0,0 +1,67 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.repository.query.Dsl;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dsl query building: criteria accumulation, rendering of large in-lists and parsing of built queries.
+ *
+ * @author Lao Tsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class DslBenchmark {
+	@Param({"50"})
+	public int criteria;
+
+	@Param({"10000"})
+	public int ids;
+
+	private UUID[] uuids;
+	private Dsl built;
+
+	@Setup
+	public void setup() {
+		uuids = new UUID[ids];
+		for (int i = 0; i < ids; i++) {
+			uuids[i] = UUID.randomUUID();
+		}
+		built = build();
+		built.getQuery();
+	}
+
+	@Benchmark
+	public String buildAndRender() {
+		return build().getQuery();
+	}
+
+	@Benchmark
+	public String largeInList() {
+		return Dsl.create().in("id", uuids).getQuery();
+	}
+
+	@Benchmark
+	public String getQuery() {
+		return built.getQuery();
+	}
+
+	@Benchmark
+	public int getCriteriaCount() {
+		return built.getCriteriaCount();
+	}
+
+	private Dsl build() {
+		var dsl = Dsl.create();
+		for (int i = 0; i < criteria; i++) {
+			dsl.equals("field" + i, i).or();
+		}
+		return dsl;
+	}
+}
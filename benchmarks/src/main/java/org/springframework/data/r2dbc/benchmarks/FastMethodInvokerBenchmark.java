@@ -0,0 +1,111 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.support.FastMethodInvoker;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property access and copying through FastMethodInvoker against hand-written getters and setters,
+ * the {@code direct*} methods are the baselines.
+ *
+ * @author Lao Tsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class FastMethodInvokerBenchmark {
+	private Row row;
+	private RowDto dto;
+
+	@Setup
+	public void setup() {
+		row = new Row(UUID.randomUUID(), "name", 42, LocalDate.of(2022, 4, 24), true);
+		dto = new RowDto(UUID.randomUUID().toString(), "dto", "18", "2021-01-01");
+	}
+
+	@Benchmark
+	public Object getValue() {
+		return FastMethodInvoker.getValue(row, "name");
+	}
+
+	@Benchmark
+	public Object directGetValue() {
+		return row.getName();
+	}
+
+	@Benchmark
+	public Row setValue() {
+		FastMethodInvoker.setValue(row, "age", 7);
+		return row;
+	}
+
+	@Benchmark
+	public Row directSetValue() {
+		row.setAge(7);
+		return row;
+	}
+
+	@Benchmark
+	public Row setValueFromString() {
+		FastMethodInvoker.setValue(row, "age", "7");
+		return row;
+	}
+
+	@Benchmark
+	public Row copy() {
+		return FastMethodInvoker.copy(row, new Row());
+	}
+
+	@Benchmark
+	public Row directCopy() {
+		var target = new Row();
+		target.setId(row.getId());
+		target.setName(row.getName());
+		target.setAge(row.getAge());
+		target.setCreatedAt(row.getCreatedAt());
+		target.setActive(row.isActive());
+		return target;
+	}
+
+	@Benchmark
+	public Row copyWithConversion() {
+		return FastMethodInvoker.copy(dto, new Row());
+	}
+
+	@Benchmark
+	public Row directCopyWithConversion() {
+		var target = new Row();
+		target.setId(UUID.fromString(dto.getId()));
+		target.setName(dto.getName());
+		target.setAge(Integer.parseInt(dto.getAge()));
+		target.setCreatedAt(LocalDate.parse(dto.getCreatedAt()));
+		return target;
+	}
+
+	@Benchmark
+	public Map<String, ?> objectToMap() {
+		return FastMethodInvoker.objectToMap(row);
+	}
+
+	@Benchmark
+	public Object stringToLong() {
+		return FastMethodInvoker.stringToObject("1234567", Long.class);
+	}
+
+	@Benchmark
+	public Object stringToUuid() {
+		return FastMethodInvoker.stringToObject("a3b8d1b6-0b3b-4b1a-9c1a-1a2b3c4d5e6f", UUID.class);
+	}
+
+	@Benchmark
+	public Object stringToLocalDate() {
+		return FastMethodInvoker.stringToObject("2022-04-24", LocalDate.class);
+	}
+}
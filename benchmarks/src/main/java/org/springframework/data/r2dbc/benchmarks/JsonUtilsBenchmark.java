@@ -0,0 +1,56 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.support.JsonUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Json tree conversion and binding of arrays of rows into objects.
+ *
+ * @author Lao Tsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class JsonUtilsBenchmark {
+	@Param({"1000"})
+	public int rows;
+
+	private JsonNode document;
+	private JsonNode array;
+
+	@Setup
+	public void setup() {
+		document = JsonUtils.objectToJson("{\"id\":1,\"name\":\"doc\",\"tags\":[\"a\",\"b\",\"c\"]," +
+				"\"jdata\":{\"level\":{\"deep\":{\"value\":42,\"flag\":true}},\"items\":[{\"x\":1},{\"x\":2},{\"x\":3}]}}");
+		var builder = new StringBuilder("[");
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) builder.append(',');
+			builder.append("{\"id\":\"a3b8d1b6-0b3b-4b1a-9c1a-1a2b3c4d5e6f\",\"name\":\"row").append(i)
+					.append("\",\"age\":").append(i % 90).append(",\"createdAt\":\"2022-04-24\",\"active\":true}");
+		}
+		array = JsonUtils.objectToJson(builder.append(']').toString());
+	}
+
+	@Benchmark
+	public Map<String, ?> jsonToMap() {
+		return JsonUtils.jsonToMap(document);
+	}
+
+	@Benchmark
+	public Object nodeToObject() {
+		return JsonUtils.nodeToObject(document);
+	}
+
+	@Benchmark
+	public List<Row> jsonToObjectList() {
+		return JsonUtils.jsonToObjectList(array, Row.class);
+	}
+}
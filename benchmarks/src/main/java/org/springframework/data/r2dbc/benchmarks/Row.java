@@ -0,0 +1,68 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Typical entity mapped from a database row.
+ *
+ * @author Lao Tsing
+ */
+public class Row {
+	private UUID id;
+	private String name;
+	private int age;
+	private LocalDate createdAt;
+	private boolean active;
+
+	public Row() {
+	}
+
+	public Row(UUID id, String name, int age, LocalDate createdAt, boolean active) {
+		this.id = id;
+		this.name = name;
+		this.age = age;
+		this.createdAt = createdAt;
+		this.active = active;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public void setId(UUID id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	public LocalDate getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDate createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+}
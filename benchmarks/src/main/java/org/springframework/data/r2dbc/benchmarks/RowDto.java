@@ -0,0 +1,55 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+/**
+ * Request representation of {@link Row} with every property as text.
+ *
+ * @author Lao Tsing
+ */
+public class RowDto {
+	private String id;
+	private String name;
+	private String age;
+	private String createdAt;
+
+	public RowDto() {
+	}
+
+	public RowDto(String id, String name, String age, String createdAt) {
+		this.id = id;
+		this.name = name;
+		this.age = age;
+		this.createdAt = createdAt;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getAge() {
+		return age;
+	}
+
+	public void setAge(String age) {
+		this.age = age;
+	}
+
+	public String getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(String createdAt) {
+		this.createdAt = createdAt;
+	}
+}
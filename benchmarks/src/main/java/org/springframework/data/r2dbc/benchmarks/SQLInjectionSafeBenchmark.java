@@ -0,0 +1,41 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.support.SQLInjectionSafe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Injection check of a short word, a phrase and a long text with separators.
+ *
+ * @author Lao Tsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class SQLInjectionSafeBenchmark {
+	private String longText;
+
+	@Setup
+	public void setup() {
+		longText = "; drop ".repeat(200) + "plain words without a closing part";
+	}
+
+	@Benchmark
+	public boolean shortWord() {
+		return SQLInjectionSafe.throwElse("autocomplete");
+	}
+
+	@Benchmark
+	public boolean phrase() {
+		return SQLInjectionSafe.throwElse("full text search over several plain words");
+	}
+
+	@Benchmark
+	public boolean pathological() {
+		return SQLInjectionSafe.throwElse(longText);
+	}
+}
@@ -0,0 +1,29 @@
+package org.springframework.data.r2dbc.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.r2dbc.support.WordUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of property names to column names and back.
+ *
+ * @author Lao Tsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-opens=java.base/java.lang=ALL-UNNAMED")
+public class WordUtilsBenchmark {
+	@Benchmark
+	public String camelToSql() {
+		return WordUtils.camelToSql("createdByUserId");
+	}
+
+	@Benchmark
+	public String sqlToCamel() {
+		return WordUtils.sqlToCamel("created_by_user_id");
+	}
+}
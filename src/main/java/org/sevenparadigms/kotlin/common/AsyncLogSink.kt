@@ -0,0 +1,286 @@
+package org.sevenparadigms.kotlin.common
+
+import org.slf4j.Logger
+import org.slf4j.event.Level
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Asynchronous sink of the log extensions: events are put into a bounded lock-free multi-producer ring buffer
+ * and written in batches by a single daemon thread, so a slow appender does not block the calling thread.
+ * Arguments are formatted on the drain thread and must not be mutated after the call. Everything an appender takes
+ * from the current thread is taken on the drain thread: MDC values are not carried, and the thread name,
+ * the caller location and the event timestamp are those of the drain thread at write time.
+ *
+ * Enabled with [LogExtensions.enableAsync], when the buffer is full events are handled by the [OverflowPolicy].
+ */
+class AsyncLogSink @JvmOverloads constructor(
+    capacity: Int = 8192,
+    val policy: OverflowPolicy = OverflowPolicy.DROP,
+    val sampleRate: Int = 16,
+    private val batchSize: Int = 256
+) : AutoCloseable {
+
+    enum class OverflowPolicy {
+        /** The event is dropped when the buffer is full */
+        DROP,
+
+        /** The caller waits for free space */
+        BLOCK,
+
+        /** Only every n-th event on average is accepted while the buffer is more than half full */
+        SAMPLE
+    }
+
+    val capacity: Int
+    private val mask: Int
+    private val sequences: AtomicLongArray
+    private val loggers: Array<Logger?>
+    private val levels: Array<Level?>
+    private val messages: Array<String?>
+    private val arities: IntArray
+    private val firstArgs: Array<Any?>
+    private val secondArgs: Array<Any?>
+    private val argArrays: Array<Array<out Any>?>
+    private val tail = AtomicLong()
+    private val head = AtomicLong()
+    private val dropped = LongAdder()
+    private val written = LongAdder()
+    private val producers = AtomicInteger()
+    private val thread: Thread
+
+    @Volatile
+    private var running = true
+
+    @Volatile
+    private var parked = false
+
+    init {
+        require(capacity > 1) { "Capacity must be greater than one" }
+        require(sampleRate > 0) { "Sample rate must be positive" }
+        require(batchSize > 0) { "Batch size must be positive" }
+        var size = 2
+        while (size < capacity) size = size shl 1
+        this.capacity = size
+        mask = size - 1
+        sequences = AtomicLongArray(size)
+        for (i in 0 until size) sequences.lazySet(i, i.toLong())
+        loggers = arrayOfNulls(size)
+        levels = arrayOfNulls(size)
+        messages = arrayOfNulls(size)
+        arities = IntArray(size)
+        firstArgs = arrayOfNulls(size)
+        secondArgs = arrayOfNulls(size)
+        argArrays = arrayOfNulls(size)
+        thread = Thread(::drainLoop, "async-log-sink")
+        thread.isDaemon = true
+        thread.start()
+    }
+
+    /**
+     * Number of events dropped by the overflow policy or failed in the appender.
+     */
+    fun getDroppedCount(): Long = dropped.sum()
+
+    /**
+     * Number of events written by the drain thread.
+     */
+    fun getWrittenCount(): Long = written.sum()
+
+    fun size(): Int = (tail.get() - head.get()).coerceIn(0, capacity.toLong()).toInt()
+
+    fun isRunning(): Boolean = running
+
+    /**
+     * Returns false when the event must be written by the caller: the sink is closed or the caller is the drain thread.
+     */
+    fun offer(logger: Logger, level: Level, message: String): Boolean =
+        offer(logger, level, message, 0, null, null, null)
+
+    fun offer(logger: Logger, level: Level, message: String, arg: Any?): Boolean =
+        offer(logger, level, message, 1, arg, null, null)
+
+    fun offer(logger: Logger, level: Level, message: String, arg1: Any?, arg2: Any?): Boolean =
+        offer(logger, level, message, 2, arg1, arg2, null)
+
+    fun offer(logger: Logger, level: Level, message: String, args: Array<out Any>): Boolean =
+        offer(logger, level, message, VARARG, null, null, args)
+
+    private fun offer(
+        logger: Logger, level: Level, message: String, arity: Int, arg1: Any?, arg2: Any?, args: Array<out Any>?
+    ): Boolean {
+        if (Thread.currentThread() === thread) return false
+        producers.incrementAndGet()
+        try {
+            return running && enqueue(logger, level, message, arity, arg1, arg2, args)
+        } finally {
+            producers.decrementAndGet()
+        }
+    }
+
+    private fun enqueue(
+        logger: Logger, level: Level, message: String, arity: Int, arg1: Any?, arg2: Any?, args: Array<out Any>?
+    ): Boolean {
+        if (policy == OverflowPolicy.SAMPLE && size() >= capacity shr 1
+            && ThreadLocalRandom.current().nextInt(sampleRate) != 0
+        ) {
+            dropped.increment()
+            return true
+        }
+        while (true) {
+            val position = claim()
+            if (position >= 0) {
+                val slot = (position and mask.toLong()).toInt()
+                loggers[slot] = logger
+                levels[slot] = level
+                messages[slot] = message
+                arities[slot] = arity
+                firstArgs[slot] = arg1
+                secondArgs[slot] = arg2
+                argArrays[slot] = args
+                // a full write, so the drain thread can not miss it between raising parked and parking
+                sequences.set(slot, position + 1)
+                if (parked) LockSupport.unpark(thread)
+                return true
+            }
+            if (policy != OverflowPolicy.BLOCK) {
+                dropped.increment()
+                return true
+            }
+            if (!running) return false
+            LockSupport.parkNanos(BLOCK_NANOS)
+        }
+    }
+
+    /**
+     * Reserves the next position of the ring, -1 when it is full.
+     */
+    private fun claim(): Long {
+        var position = tail.get()
+        while (true) {
+            val difference = sequences.get((position and mask.toLong()).toInt()) - position
+            position = when {
+                difference == 0L -> if (tail.compareAndSet(position, position + 1)) return position else tail.get()
+                difference < 0 -> return -1
+                else -> tail.get()
+            }
+        }
+    }
+
+    /**
+     * Writes at most [batchSize] events, returns their number.
+     */
+    private fun drain(): Int {
+        var position = head.get()
+        var count = 0
+        while (count < batchSize) {
+            val slot = (position and mask.toLong()).toInt()
+            if (sequences.get(slot) != position + 1) break
+            val logger = loggers[slot]!!
+            val level = levels[slot]!!
+            val message = messages[slot]!!
+            val arity = arities[slot]
+            val arg1 = firstArgs[slot]
+            val arg2 = secondArgs[slot]
+            val args = argArrays[slot]
+            loggers[slot] = null
+            messages[slot] = null
+            firstArgs[slot] = null
+            secondArgs[slot] = null
+            argArrays[slot] = null
+            sequences.lazySet(slot, position + capacity)
+            position++
+            head.lazySet(position)
+            count++
+            try {
+                write(logger, level, message, arity, arg1, arg2, args)
+                written.increment()
+            } catch (e: Throwable) {
+                dropped.increment()
+            }
+        }
+        return count
+    }
+
+    private fun drainLoop() {
+        try {
+            var idle = 0
+            while (running) {
+                if (drain() > 0) {
+                    idle = 0
+                } else if (++idle < SPINS) {
+                    Thread.onSpinWait()
+                } else {
+                    parked = true
+                    if (running && drain() == 0) LockSupport.park(this)
+                    parked = false
+                    idle = 0
+                }
+            }
+            // producers which passed the running check before close may still publish
+            while (producers.get() > 0 || head.get() != tail.get()) {
+                if (drain() == 0) Thread.onSpinWait()
+            }
+        } finally {
+            running = false
+        }
+    }
+
+    /**
+     * Stops accepting events, writes the buffered ones including those of offers still in progress
+     * and waits for the drain thread.
+     */
+    override fun close() {
+        if (!running) return
+        running = false
+        LockSupport.unpark(thread)
+        if (Thread.currentThread() !== thread) thread.join()
+    }
+
+    companion object {
+        private const val VARARG = -1
+        private const val SPINS = 64
+        private const val BLOCK_NANOS = 10_000L
+
+        internal fun write(
+            logger: Logger, level: Level, message: String, arity: Int, arg1: Any?, arg2: Any?, args: Array<out Any>?
+        ) {
+            when (level) {
+                Level.ERROR -> when (arity) {
+                    0 -> logger.error(message)
+                    1 -> logger.error(message, arg1)
+                    2 -> logger.error(message, arg1, arg2)
+                    else -> logger.error(message, *args!!)
+                }
+                Level.WARN -> when (arity) {
+                    0 -> logger.warn(message)
+                    1 -> logger.warn(message, arg1)
+                    2 -> logger.warn(message, arg1, arg2)
+                    else -> logger.warn(message, *args!!)
+                }
+                Level.INFO -> when (arity) {
+                    0 -> logger.info(message)
+                    1 -> logger.info(message, arg1)
+                    2 -> logger.info(message, arg1, arg2)
+                    else -> logger.info(message, *args!!)
+                }
+                Level.DEBUG -> when (arity) {
+                    0 -> logger.debug(message)
+                    1 -> logger.debug(message, arg1)
+                    2 -> logger.debug(message, arg1, arg2)
+                    else -> logger.debug(message, *args!!)
+                }
+                Level.TRACE -> when (arity) {
+                    0 -> logger.trace(message)
+                    1 -> logger.trace(message, arg1)
+                    2 -> logger.trace(message, arg1, arg2)
+                    else -> logger.trace(message, *args!!)
+                }
+            }
+        }
+    }
+}
@@ -1,17 +1,99 @@
 package org.sevenparadigms.kotlin.common
 
-import org.springframework.util.ResourceUtils
-import java.nio.file.Files
+import java.io.InputStream
+import java.nio.ByteBuffer
 import java.util.*
 
-fun ByteArray.encode(): ByteArray = Base64.getMimeEncoder().encode(this)
+private val mimeEncoder = Base64.getMimeEncoder()
 
-fun ByteArray.decode(): ByteArray = Base64.getMimeDecoder().decode(this)
+private val mimeDecoder = Base64.getMimeDecoder()
 
-fun String.loadResource(): ByteArray = Files.readAllBytes(ResourceUtils.getFile("classpath:$this").toPath())
+private val base64Encoder = Base64.getEncoder()
+
+private val base64Decoder = Base64.getDecoder()
+
+private val upperDigits = "0123456789ABCDEF".toCharArray()
+
+private val lowerDigits = "0123456789abcdef".toCharArray()
+
+private val hexValues = ByteArray(128) { -1 }.also {
+    for (i in 0..9) it['0'.code + i] = i.toByte()
+    for (i in 0..5) {
+        it['A'.code + i] = (10 + i).toByte()
+        it['a'.code + i] = (10 + i).toByte()
+    }
+}
+
+fun ByteArray.encode(): ByteArray = mimeEncoder.encode(this)
+
+fun ByteArray.decode(): ByteArray = mimeDecoder.decode(this)
+
+fun ByteArray.base64(): String = base64Encoder.encodeToString(this)
+
+fun String.base64ToByteArray(): ByteArray = base64Decoder.decode(this)
+
+/**
+ * Encodes the remaining bytes into a new buffer, the position of the source is moved to its limit.
+ */
+fun ByteBuffer.encodeBase64(): ByteBuffer = base64Encoder.encode(this)
+
+/**
+ * Decodes the remaining bytes into a new buffer, the position of the source is moved to its limit.
+ */
+fun ByteBuffer.decodeBase64(): ByteBuffer = base64Decoder.decode(this)
+
+/**
+ * Copy of the classpath resource, the content is read once and cached by [ResourceCache].
+ */
+fun String.loadResource(): ByteArray = ResourceCache.getBytes(this)
+
+fun String.loadResourceBuffer(): ByteBuffer = ResourceCache.get(this)
+
+fun String.openResource(): InputStream = ResourceCache.openStream(this)
 
 fun ByteArray.convertString(): String = String(this, Charsets.UTF_8)
 
-fun ByteArray.hex() = this.joinToString(separator = "") { String.format("%02X", (it.toInt() and 0xFF)) }
+fun ByteArray.hex(): String = hex(false)
+
+fun ByteArray.hex(lowerCase: Boolean): String = String(hexTo(CharArray(size * 2), 0, lowerCase))
+
+/**
+ * Writes two hex digits per byte into the array starting at the offset and returns the array.
+ */
+@JvmOverloads
+fun ByteArray.hexTo(chars: CharArray, offset: Int = 0, lowerCase: Boolean = false): CharArray {
+    require(offset >= 0 && chars.size - offset >= size * 2) { "Hex of $size bytes does not fit at $offset" }
+    val digits = if (lowerCase) lowerDigits else upperDigits
+    var i = offset
+    for (byte in this) {
+        val value = byte.toInt()
+        chars[i++] = digits[(value shr 4) and 0xF]
+        chars[i++] = digits[value and 0xF]
+    }
+    return chars
+}
+
+fun String.hexToByteArray(): ByteArray = hexTo(ByteArray(length / 2), 0)
+
+fun CharSequence.hexToByteArray(): ByteArray = hexTo(ByteArray(length / 2), 0)
+
+/**
+ * Writes the bytes of the hex text of either case into the array starting at the offset and returns the array.
+ */
+@JvmOverloads
+fun CharSequence.hexTo(bytes: ByteArray, offset: Int = 0): ByteArray {
+    require(length % 2 == 0) { "Hex text has an odd length $length" }
+    require(offset >= 0 && bytes.size - offset >= length / 2) { "Bytes of $length hex digits do not fit at $offset" }
+    var j = offset
+    for (i in 0 until length step 2) {
+        bytes[j++] = ((hexValue(this, i) shl 4) or hexValue(this, i + 1)).toByte()
+    }
+    return bytes
+}
 
-fun String.hexToByteArray() = ByteArray(this.length / 2) { this.substring(it * 2, it * 2 + 2).toInt(16).toByte() }
\ No newline at end of file
+private fun hexValue(text: CharSequence, index: Int): Int {
+    val c = text[index].code
+    val value = if (c < 128) hexValues[c].toInt() else -1
+    require(value >= 0) { "Illegal hex digit '${text[index]}' at $index" }
+    return value
+}
@@ -15,6 +15,10 @@ fun Dsl.`in`(name: Enum<*>, vararg fields: UUID): Dsl = `in`(name.name, fields.t
 
 fun Dsl.notIn(name: Enum<*>, vararg fields: UUID): Dsl = notIn(name.name, fields.toList())
 
+fun Dsl.`in`(name: Enum<*>, vararg ids: Long): Dsl = `in`(name.name, ids)
+
+fun Dsl.notIn(name: Enum<*>, vararg ids: Long): Dsl = notIn(name.name, ids)
+
 fun Dsl.equals(name: Enum<*>, value: String): Dsl = equals(name.name, value)
 
 fun Dsl.equals(name: Enum<*>, value: UUID): Dsl = equals(name.name, value)
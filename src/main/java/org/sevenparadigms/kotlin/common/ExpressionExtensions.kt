@@ -1,10 +1,23 @@
 package org.sevenparadigms.kotlin.common
 
+import org.springframework.data.r2dbc.expression.BatchExpressionEvaluator
 import org.springframework.data.r2dbc.expression.ExpressionParserCache
 import org.springframework.expression.Expression
+import org.springframework.expression.ParserContext
+import reactor.core.publisher.Flux
+import java.util.BitSet
 
 fun String.parseExpression(): Expression = ExpressionParserCache.INSTANCE.parseExpression(this)
 
+fun String.parseTemplate(context: ParserContext = ParserContext.TEMPLATE_EXPRESSION): Expression =
+    ExpressionParserCache.INSTANCE.parseExpression(this, context)
+
 fun Expression.getBoolean(context: Any): Boolean = this.getValue(context, Boolean::class.java)!!
 
-inline fun <reified T> Expression.get(context: Any, cls: Class<T>): T = this.getValue(context, cls)!!
\ No newline at end of file
+inline fun <reified T> Expression.get(context: Any, cls: Class<T>): T = this.getValue(context, cls)!!
+
+fun Expression.test(roots: List<Any>): BitSet = BatchExpressionEvaluator(this).testBits(roots)
+
+fun <T> List<T>.filterBy(expression: Expression): List<T> = BatchExpressionEvaluator(expression).filter(this)
+
+fun <T> Flux<T>.filterBy(expression: Expression): Flux<T> = BatchExpressionEvaluator(expression).filter(this)
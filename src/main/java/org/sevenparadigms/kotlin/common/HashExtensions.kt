@@ -2,21 +2,57 @@ package org.sevenparadigms.kotlin.common
 
 import org.apache.commons.codec.digest.MessageDigestAlgorithms
 import org.apache.commons.codec.digest.MurmurHash2
-import org.apache.commons.codec.digest.MurmurHash3
+import java.nio.ByteBuffer
 import java.security.MessageDigest
 
+private val murmur3Hashers = ThreadLocal.withInitial { Murmur3Hasher() }
+
+private val xxHash64Hashers = ThreadLocal.withInitial { XxHash64Hasher() }
+
+private val sha512Digests = ThreadLocal.withInitial { MessageDigest.getInstance(MessageDigestAlgorithms.SHA_512) }
+
+private val sha512_256Digests = ThreadLocal.withInitial { MessageDigest.getInstance(MessageDigestAlgorithms.SHA_512_256) }
+
 fun String.murmur32(): Int = MurmurHash2.hash32(this)
 
-fun String.murmur64(): Long = MurmurHash2.hash64(this.toByteArray(), this.toByteArray().size)
+fun String.murmur64(): Long = toByteArray().let { MurmurHash2.hash64(it, it.size) }
+
+fun String.murmur128(): LongArray = murmur3Hashers.get().reset().update(this).hash128()
+
+fun CharSequence.murmur128(): LongArray = murmur3Hashers.get().reset().update(this).hash128()
+
+fun ByteArray.murmur128(): LongArray = murmur3Hashers.get().reset().update(this).hash128()
+
+fun ByteBuffer.murmur128(): LongArray = murmur3Hashers.get().reset().update(this).hash128()
 
-fun String.murmur128(): LongArray = MurmurHash3.hash128x64(this.toByteArray())
+fun CharSequence.xxHash64(): Long = xxHash64Hashers.get().reset().update(this).hash64()
 
-fun String.sha512(): String = toByteArray().sha512()
+fun ByteArray.xxHash64(): Long = xxHash64Hashers.get().reset().update(this).hash64()
 
+fun ByteBuffer.xxHash64(): Long = xxHash64Hashers.get().reset().update(this).hash64()
+
+@Deprecated("Digest bytes decoded as UTF-8 lose information", ReplaceWith("sha512Hex()"))
+fun String.sha512(): String = toByteArray().sha512ByteArray().convertString()
+
+fun String.sha512Hex(): String = toByteArray().sha512Hex()
+
+@Deprecated("Digest bytes decoded as UTF-8 lose information", ReplaceWith("sha512Hex()"))
 fun ByteArray.sha512(): String = sha512ByteArray().convertString()
 
-fun ByteArray.sha512ByteArray(): ByteArray = MessageDigest.getInstance(MessageDigestAlgorithms.SHA_512).digest(this)
+fun ByteArray.sha512Hex(): String = sha512ByteArray().hex(true)
+
+fun ByteArray.sha512ByteArray(): ByteArray = sha512Digests.get().digest(this)
 
+fun ByteBuffer.sha512ByteArray(): ByteArray = sha512Digests.get().let {
+    it.update(duplicate())
+    it.digest()
+}
+
+fun ByteBuffer.sha512Hex(): String = sha512ByteArray().hex(true)
+
+@Deprecated("Digest bytes decoded as UTF-8 lose information", ReplaceWith("sha512_256Hex()"))
 fun ByteArray.sha512_256(): String = sha512_256ByteArray().convertString()
 
-fun ByteArray.sha512_256ByteArray(): ByteArray = MessageDigest.getInstance(MessageDigestAlgorithms.SHA_512_256).digest(this)
\ No newline at end of file
+fun ByteArray.sha512_256Hex(): String = sha512_256ByteArray().hex(true)
+
+fun ByteArray.sha512_256ByteArray(): ByteArray = sha512_256Digests.get().digest(this)
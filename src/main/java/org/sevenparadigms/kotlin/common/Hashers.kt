@@ -0,0 +1,262 @@
+package org.sevenparadigms.kotlin.common
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Incremental hash over fixed-size little-endian blocks. Input is consumed directly from arrays and buffers,
+ * a partial block is kept between updates; char sequences are encoded to UTF-8 on the fly through a small
+ * scratch block, an unpaired surrogate is encoded as `?` like [String.toByteArray] does.
+ */
+abstract class StreamingHasher<H : StreamingHasher<H>> protected constructor(private val blockSize: Int) {
+    private val pending = ByteBuffer.allocate(blockSize).order(ByteOrder.LITTLE_ENDIAN)
+    private val scratch = ByteArray(SCRATCH_SIZE)
+    private val scratchBuffer = ByteBuffer.wrap(scratch).order(ByteOrder.LITTLE_ENDIAN)
+
+    /** Number of bytes consumed since the last reset */
+    var length = 0L
+        private set
+
+    fun update(bytes: ByteArray): H = update(bytes, 0, bytes.size)
+
+    fun update(bytes: ByteArray, offset: Int, count: Int): H {
+        if (count > 0) consume(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), offset, offset + count)
+        return self()
+    }
+
+    /**
+     * Consumes the remaining bytes of the buffer without changing its position, heap and direct buffers alike.
+     */
+    fun update(buffer: ByteBuffer): H {
+        if (buffer.hasRemaining()) consume(buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN), buffer.position(), buffer.limit())
+        return self()
+    }
+
+    fun update(text: CharSequence): H = update(text, 0, text.length)
+
+    fun update(text: CharSequence, start: Int, end: Int): H {
+        var count = 0
+        var i = start
+        while (i < end) {
+            if (count > SCRATCH_SIZE - 4) {
+                consume(scratchBuffer, 0, count)
+                count = 0
+            }
+            val c = text[i++]
+            val code = c.code
+            when {
+                code < 0x80 -> scratch[count++] = code.toByte()
+                code < 0x800 -> {
+                    scratch[count++] = (0xC0 or (code shr 6)).toByte()
+                    scratch[count++] = (0x80 or (code and 0x3F)).toByte()
+                }
+                Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(text[i]) -> {
+                    val point = Character.toCodePoint(c, text[i++])
+                    scratch[count++] = (0xF0 or (point shr 18)).toByte()
+                    scratch[count++] = (0x80 or ((point shr 12) and 0x3F)).toByte()
+                    scratch[count++] = (0x80 or ((point shr 6) and 0x3F)).toByte()
+                    scratch[count++] = (0x80 or (point and 0x3F)).toByte()
+                }
+                Character.isSurrogate(c) -> scratch[count++] = '?'.code.toByte()
+                else -> {
+                    scratch[count++] = (0xE0 or (code shr 12)).toByte()
+                    scratch[count++] = (0x80 or ((code shr 6) and 0x3F)).toByte()
+                    scratch[count++] = (0x80 or (code and 0x3F)).toByte()
+                }
+            }
+        }
+        if (count > 0) consume(scratchBuffer, 0, count)
+        return self()
+    }
+
+    open fun reset(): H {
+        pending.clear()
+        length = 0
+        return self()
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun self(): H = this as H
+
+    /**
+     * Mixes one full block starting at the absolute index of the little-endian buffer.
+     */
+    protected abstract fun block(data: ByteBuffer, index: Int)
+
+    /**
+     * Buffer holding the bytes of the last partial block from index 0, their number is `length % blockSize`.
+     */
+    protected fun tail(): ByteBuffer = pending
+
+    private fun consume(data: ByteBuffer, from: Int, to: Int) {
+        length += to - from
+        var i = from
+        if (pending.position() > 0) {
+            while (i < to && pending.hasRemaining()) pending.put(data.get(i++))
+            if (pending.hasRemaining()) return
+            block(pending, 0)
+            pending.clear()
+        }
+        while (to - i >= blockSize) {
+            block(data, i)
+            i += blockSize
+        }
+        while (i < to) pending.put(data.get(i++))
+    }
+
+    companion object {
+        private const val SCRATCH_SIZE = 256
+    }
+}
+
+/**
+ * MurmurHash3 x64 128-bit, the same values as `MurmurHash3.hash128x64` of commons-codec.
+ */
+class Murmur3Hasher @JvmOverloads constructor(private val seed: Long = 0) : StreamingHasher<Murmur3Hasher>(16) {
+    private var h1 = seed
+    private var h2 = seed
+
+    override fun reset(): Murmur3Hasher {
+        super.reset()
+        h1 = seed
+        h2 = seed
+        return this
+    }
+
+    override fun block(data: ByteBuffer, index: Int) {
+        h1 = h1 xor mixK1(data.getLong(index))
+        h1 = java.lang.Long.rotateLeft(h1, 27) + h2
+        h1 = h1 * 5 + 0x52dce729
+        h2 = h2 xor mixK2(data.getLong(index + 8))
+        h2 = java.lang.Long.rotateLeft(h2, 31) + h1
+        h2 = h2 * 5 + 0x38495ab5
+    }
+
+    /**
+     * Hash of the bytes consumed so far, the hasher can be updated further.
+     */
+    fun hash128(): LongArray {
+        var h1 = h1
+        var h2 = h2
+        val tail = tail()
+        val remainder = (length and 15).toInt()
+        if (remainder > 8) h2 = h2 xor mixK2(littleEndian(tail, 8, remainder - 8))
+        if (remainder > 0) h1 = h1 xor mixK1(littleEndian(tail, 0, minOf(remainder, 8)))
+        h1 = h1 xor length
+        h2 = h2 xor length
+        h1 += h2
+        h2 += h1
+        h1 = fmix(h1)
+        h2 = fmix(h2)
+        h1 += h2
+        h2 += h1
+        return longArrayOf(h1, h2)
+    }
+
+    private fun mixK1(k: Long): Long = java.lang.Long.rotateLeft(k * C1, 31) * C2
+
+    private fun mixK2(k: Long): Long = java.lang.Long.rotateLeft(k * C2, 33) * C1
+
+    private fun fmix(value: Long): Long {
+        var k = value
+        k = k xor (k ushr 33)
+        k *= -0xae502812aa7333L
+        k = k xor (k ushr 33)
+        k *= -0x3b314601e57a13adL
+        return k xor (k ushr 33)
+    }
+
+    private fun littleEndian(data: ByteBuffer, from: Int, count: Int): Long {
+        var k = 0L
+        for (i in count - 1 downTo 0) k = (k shl 8) or (data.get(from + i).toLong() and 0xFF)
+        return k
+    }
+
+    companion object {
+        private const val C1 = -0x783c846eeebdac2bL
+        private const val C2 = 0x4cf5ad432745937fL
+    }
+}
+
+/**
+ * XXH64 of the xxHash family, 64-bit values of the reference implementation.
+ */
+class XxHash64Hasher @JvmOverloads constructor(private val seed: Long = 0) : StreamingHasher<XxHash64Hasher>(32) {
+    private var v1 = 0L
+    private var v2 = 0L
+    private var v3 = 0L
+    private var v4 = 0L
+
+    init {
+        reset()
+    }
+
+    override fun reset(): XxHash64Hasher {
+        super.reset()
+        v1 = seed + P1 + P2
+        v2 = seed + P2
+        v3 = seed
+        v4 = seed - P1
+        return this
+    }
+
+    override fun block(data: ByteBuffer, index: Int) {
+        v1 = round(v1, data.getLong(index))
+        v2 = round(v2, data.getLong(index + 8))
+        v3 = round(v3, data.getLong(index + 16))
+        v4 = round(v4, data.getLong(index + 24))
+    }
+
+    /**
+     * Hash of the bytes consumed so far, the hasher can be updated further.
+     */
+    fun hash64(): Long {
+        var h: Long
+        if (length >= 32) {
+            h = java.lang.Long.rotateLeft(v1, 1) + java.lang.Long.rotateLeft(v2, 7) +
+                    java.lang.Long.rotateLeft(v3, 12) + java.lang.Long.rotateLeft(v4, 18)
+            h = merge(h, v1)
+            h = merge(h, v2)
+            h = merge(h, v3)
+            h = merge(h, v4)
+        } else {
+            h = seed + P5
+        }
+        h += length
+        val tail = tail()
+        val remainder = (length and 31).toInt()
+        var i = 0
+        while (i + 8 <= remainder) {
+            h = h xor round(0, tail.getLong(i))
+            h = java.lang.Long.rotateLeft(h, 27) * P1 + P4
+            i += 8
+        }
+        if (i + 4 <= remainder) {
+            h = h xor ((tail.getInt(i).toLong() and 0xFFFFFFFFL) * P1)
+            h = java.lang.Long.rotateLeft(h, 23) * P2 + P3
+            i += 4
+        }
+        while (i < remainder) {
+            h = h xor ((tail.get(i).toLong() and 0xFF) * P5)
+            h = java.lang.Long.rotateLeft(h, 11) * P1
+            i++
+        }
+        h = h xor (h ushr 33)
+        h *= P2
+        h = h xor (h ushr 29)
+        h *= P3
+        return h xor (h ushr 32)
+    }
+
+    private fun round(acc: Long, input: Long): Long = java.lang.Long.rotateLeft(acc + input * P2, 31) * P1
+
+    private fun merge(acc: Long, value: Long): Long = (acc xor round(0, value)) * P1 + P4
+
+    companion object {
+        private const val P1 = -0x61c8864e7a143579L
+        private const val P2 = -0x3d4d51c2d82b14b1L
+        private const val P3 = 0x165667b19e3779f9L
+        private const val P4 = -0x7a1435883d4d519dL
+        private const val P5 = 0x27d4eb2f165667c5L
+    }
+}
@@ -3,8 +3,14 @@ package org.sevenparadigms.kotlin.common
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.node.ArrayNode
 import com.fasterxml.jackson.databind.node.ObjectNode
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.reactive.asFlow
 import org.apache.commons.beanutils.ConvertUtils
+import org.springframework.core.io.buffer.DataBuffer
 import org.springframework.data.r2dbc.support.JsonUtils
+import reactor.core.publisher.Flux
+import java.io.InputStream
+import java.nio.ByteBuffer
 
 fun Any.objectToJson(): JsonNode = JsonUtils.objectToJson(this)
 
@@ -14,6 +20,14 @@ inline fun <reified T> JsonNode.jsonToObject(cls: Class<T>): T = JsonUtils.jsonT
 
 inline fun <reified T> JsonNode.jsonToObjectList(cls: Class<T>): List<T> = JsonUtils.jsonToObjectList(this, cls)
 
+inline fun <reified T> InputStream.jsonSequence(cls: Class<T>): Sequence<T> = JsonUtils.iterateArray(this, cls).asSequence()
+
+inline fun <reified T> ByteBuffer.jsonSequence(cls: Class<T>): Sequence<T> = JsonUtils.iterateArray(this, cls).asSequence()
+
+inline fun <reified T : Any> InputStream.jsonFlow(cls: Class<T>): Flow<T> = JsonUtils.readArray(this, cls).asFlow()
+
+inline fun <reified T : Any> Flux<DataBuffer>.jsonFlow(cls: Class<T>): Flow<T> = JsonUtils.readArray(this, cls).asFlow()
+
 fun String.toArrayNode(): ArrayNode = JsonUtils.getMapper().readTree(this) as ArrayNode
 
 inline fun <reified T> ArrayNode.has(value: T): Boolean = this.any { it.asText().equals(ConvertUtils.convert(value).toString()) }
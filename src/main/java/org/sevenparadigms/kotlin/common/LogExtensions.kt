@@ -2,16 +2,33 @@ package org.sevenparadigms.kotlin.common
 
 import org.slf4j.Logger
 import org.slf4j.LoggerFactory
-import org.springframework.util.ConcurrentReferenceHashMap
+import org.slf4j.event.Level as LogLevel
 import java.util.concurrent.Callable
+import java.util.function.Function
 import java.util.logging.Level
 import java.util.logging.Level.*
 
 object LogExtensions {
-    private val loggerCache = ConcurrentReferenceHashMap<Class<*>, Logger>()
+    @Volatile
+    private var factory: (Class<*>) -> Logger = LoggerFactory::getLogger
+
+    private val loggers = object : ClassValue<Logger>() {
+        override fun computeValue(type: Class<*>): Logger = factory(type)
+    }
+
+    @JvmStatic
+    fun getLogger(cls: Class<*>): Logger = loggers.get(cls)
+
+    /**
+     * Replaces the logger factory for classes not looked up yet, loggers already returned are kept. Meant for tests.
+     */
+    @JvmStatic
+    fun setLoggerFactory(factory: Function<Class<*>, Logger>) {
+        this.factory = factory::apply
+    }
 
     fun getLogger(cls: Class<*>, level: Level): Logger? {
-        val logger = loggerCache.computeIfAbsent(cls) { LoggerFactory.getLogger(cls) }
+        val logger = loggers.get(cls)
         return when (level) {
             INFO -> if (logger.isInfoEnabled) logger else null
             WARNING -> if (logger.isWarnEnabled) logger else null
@@ -21,44 +38,206 @@ object LogExtensions {
             else -> null
         }
     }
+
+    @Volatile
+    private var sink: AsyncLogSink? = null
+
+    private var shutdownHook: Thread? = null
+
+    @JvmStatic
+    fun getSink(): AsyncLogSink? = sink
+
+    /**
+     * Routes the log extensions through the sink, a previously enabled sink is closed after its events are written.
+     * The sink is closed by a shutdown hook, so buffered events are written before the jvm exits.
+     */
+    @JvmStatic
+    @Synchronized
+    fun enableAsync(sink: AsyncLogSink) {
+        val previous = this.sink
+        this.sink = sink
+        if (shutdownHook == null) {
+            shutdownHook = Thread(::disableAsync, "async-log-sink-shutdown").also { Runtime.getRuntime().addShutdownHook(it) }
+        }
+        if (previous !== sink) previous?.close()
+    }
+
+    @JvmStatic
+    @Synchronized
+    fun disableAsync() {
+        val previous = sink
+        sink = null
+        shutdownHook?.let {
+            try {
+                Runtime.getRuntime().removeShutdownHook(it)
+            } catch (e: IllegalStateException) {
+                // called by the hook itself while the jvm shuts down
+            }
+        }
+        shutdownHook = null
+        previous?.close()
+    }
+
+    @PublishedApi
+    internal fun log(logger: Logger, level: LogLevel, message: String) {
+        if (sink?.offer(logger, level, message) != true) AsyncLogSink.write(logger, level, message, 0, null, null, null)
+    }
+
+    internal fun log(logger: Logger, level: LogLevel, message: String, arg: Any?) {
+        if (sink?.offer(logger, level, message, arg) != true) {
+            AsyncLogSink.write(logger, level, message, 1, arg, null, null)
+        }
+    }
+
+    internal fun log(logger: Logger, level: LogLevel, message: String, arg1: Any?, arg2: Any?) {
+        if (sink?.offer(logger, level, message, arg1, arg2) != true) {
+            AsyncLogSink.write(logger, level, message, 2, arg1, arg2, null)
+        }
+    }
+
+    internal fun log(logger: Logger, level: LogLevel, message: String, args: Array<out Any>) {
+        if (sink?.offer(logger, level, message, args) != true) {
+            AsyncLogSink.write(logger, level, message, -1, null, null, args)
+        }
+    }
+}
+
+/**
+ * Message with key-value fields appended in logfmt style, values with spaces or quotes are quoted.
+ */
+class LogFields(message: String) {
+    private val builder = StringBuilder(message.length + 64).append(message)
+
+    fun field(key: String, value: Any?): LogFields {
+        builder.append(' ').append(key).append('=')
+        val text = value.toString()
+        if (text.isEmpty() || text.any { it <= ' ' || it == '"' || it == '=' }) {
+            builder.append('"')
+            for (c in text) {
+                if (c == '"' || c == '\\') builder.append('\\')
+                builder.append(c)
+            }
+            builder.append('"')
+        } else {
+            builder.append(text)
+        }
+        return this
+    }
+
+    override fun toString(): String = builder.toString()
 }
 
-fun Any.info(message: String, vararg args: Any) = LogExtensions.getLogger(javaClass, INFO)?.info(message, args)
+fun Any.info(message: String) =
+    LogExtensions.getLogger(javaClass).let { if (it.isInfoEnabled) LogExtensions.log(it, LogLevel.INFO, message) }
 
-fun Any.warn(message: String, vararg args: Any) = LogExtensions.getLogger(javaClass, WARNING)?.warn(message, args)
+fun Any.info(message: String, arg: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isInfoEnabled) LogExtensions.log(it, LogLevel.INFO, message, arg) }
 
-fun Any.severe(message: String, vararg args: Any) = LogExtensions.getLogger(javaClass, SEVERE)?.error(message, args)
+fun Any.info(message: String, arg1: Any?, arg2: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isInfoEnabled) LogExtensions.log(it, LogLevel.INFO, message, arg1, arg2) }
 
-fun Any.debug(message: String, vararg args: Any) = LogExtensions.getLogger(javaClass, FINE)?.debug(message, args)
+fun Any.info(message: String, vararg args: Any) =
+    LogExtensions.getLogger(javaClass).let { if (it.isInfoEnabled) LogExtensions.log(it, LogLevel.INFO, message, args) }
 
-fun Any.trace(message: String, vararg args: Any) = LogExtensions.getLogger(javaClass, FINEST)?.trace(message, args)
+fun Any.warn(message: String) =
+    LogExtensions.getLogger(javaClass).let { if (it.isWarnEnabled) LogExtensions.log(it, LogLevel.WARN, message) }
 
-fun Any.isInfoEnabled() = LogExtensions.getLogger(javaClass, INFO) != null
+fun Any.warn(message: String, arg: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isWarnEnabled) LogExtensions.log(it, LogLevel.WARN, message, arg) }
 
-fun Any.isWarnEnabled() = LogExtensions.getLogger(javaClass, WARNING) != null
+fun Any.warn(message: String, arg1: Any?, arg2: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isWarnEnabled) LogExtensions.log(it, LogLevel.WARN, message, arg1, arg2) }
 
-fun Any.isErrorEnabled() = LogExtensions.getLogger(javaClass, SEVERE) != null
+fun Any.warn(message: String, vararg args: Any) =
+    LogExtensions.getLogger(javaClass).let { if (it.isWarnEnabled) LogExtensions.log(it, LogLevel.WARN, message, args) }
 
-fun Any.isDebugEnabled() = LogExtensions.getLogger(javaClass, FINE) != null
+fun Any.severe(message: String) =
+    LogExtensions.getLogger(javaClass).let { if (it.isErrorEnabled) LogExtensions.log(it, LogLevel.ERROR, message) }
 
-fun Any.isTraceEnabled() = LogExtensions.getLogger(javaClass, FINEST) != null
+fun Any.severe(message: String, arg: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isErrorEnabled) LogExtensions.log(it, LogLevel.ERROR, message, arg) }
+
+fun Any.severe(message: String, arg1: Any?, arg2: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isErrorEnabled) LogExtensions.log(it, LogLevel.ERROR, message, arg1, arg2) }
+
+fun Any.severe(message: String, vararg args: Any) =
+    LogExtensions.getLogger(javaClass).let { if (it.isErrorEnabled) LogExtensions.log(it, LogLevel.ERROR, message, args) }
+
+fun Any.debug(message: String) =
+    LogExtensions.getLogger(javaClass).let { if (it.isDebugEnabled) LogExtensions.log(it, LogLevel.DEBUG, message) }
+
+fun Any.debug(message: String, arg: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isDebugEnabled) LogExtensions.log(it, LogLevel.DEBUG, message, arg) }
+
+fun Any.debug(message: String, arg1: Any?, arg2: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isDebugEnabled) LogExtensions.log(it, LogLevel.DEBUG, message, arg1, arg2) }
+
+fun Any.debug(message: String, vararg args: Any) =
+    LogExtensions.getLogger(javaClass).let { if (it.isDebugEnabled) LogExtensions.log(it, LogLevel.DEBUG, message, args) }
+
+fun Any.trace(message: String) =
+    LogExtensions.getLogger(javaClass).let { if (it.isTraceEnabled) LogExtensions.log(it, LogLevel.TRACE, message) }
+
+fun Any.trace(message: String, arg: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isTraceEnabled) LogExtensions.log(it, LogLevel.TRACE, message, arg) }
+
+fun Any.trace(message: String, arg1: Any?, arg2: Any?) =
+    LogExtensions.getLogger(javaClass).let { if (it.isTraceEnabled) LogExtensions.log(it, LogLevel.TRACE, message, arg1, arg2) }
+
+fun Any.trace(message: String, vararg args: Any) =
+    LogExtensions.getLogger(javaClass).let { if (it.isTraceEnabled) LogExtensions.log(it, LogLevel.TRACE, message, args) }
+
+inline fun Any.info(message: String, fields: LogFields.() -> Unit) =
+    LogExtensions.getLogger(javaClass).let {
+        if (it.isInfoEnabled) LogExtensions.log(it, LogLevel.INFO, LogFields(message).apply(fields).toString())
+    }
+
+inline fun Any.warn(message: String, fields: LogFields.() -> Unit) =
+    LogExtensions.getLogger(javaClass).let {
+        if (it.isWarnEnabled) LogExtensions.log(it, LogLevel.WARN, LogFields(message).apply(fields).toString())
+    }
+
+inline fun Any.severe(message: String, fields: LogFields.() -> Unit) =
+    LogExtensions.getLogger(javaClass).let {
+        if (it.isErrorEnabled) LogExtensions.log(it, LogLevel.ERROR, LogFields(message).apply(fields).toString())
+    }
+
+inline fun Any.debug(message: String, fields: LogFields.() -> Unit) =
+    LogExtensions.getLogger(javaClass).let {
+        if (it.isDebugEnabled) LogExtensions.log(it, LogLevel.DEBUG, LogFields(message).apply(fields).toString())
+    }
+
+inline fun Any.trace(message: String, fields: LogFields.() -> Unit) =
+    LogExtensions.getLogger(javaClass).let {
+        if (it.isTraceEnabled) LogExtensions.log(it, LogLevel.TRACE, LogFields(message).apply(fields).toString())
+    }
+
+fun Any.isInfoEnabled() = LogExtensions.getLogger(javaClass).isInfoEnabled
+
+fun Any.isWarnEnabled() = LogExtensions.getLogger(javaClass).isWarnEnabled
+
+fun Any.isErrorEnabled() = LogExtensions.getLogger(javaClass).isErrorEnabled
+
+fun Any.isDebugEnabled() = LogExtensions.getLogger(javaClass).isDebugEnabled
+
+fun Any.isTraceEnabled() = LogExtensions.getLogger(javaClass).isTraceEnabled
 
 fun Any.info(messageCallable: Callable<String>) = LogExtensions.getLogger(javaClass, INFO)?.also {
-    it.info(messageCallable.call())
+    LogExtensions.log(it, LogLevel.INFO, messageCallable.call())
 }
 
 fun Any.warn(messageCallable: Callable<String>) = LogExtensions.getLogger(javaClass, WARNING)?.also {
-    it.warn(messageCallable.call())
+    LogExtensions.log(it, LogLevel.WARN, messageCallable.call())
 }
 
 fun Any.severe(messageCallable: Callable<String>) = LogExtensions.getLogger(javaClass, SEVERE)?.also {
-    it.error(messageCallable.call())
+    LogExtensions.log(it, LogLevel.ERROR, messageCallable.call())
 }
 
 fun Any.debug(messageCallable: Callable<String>) = LogExtensions.getLogger(javaClass, FINE)?.also {
-    it.debug(messageCallable.call())
+    LogExtensions.log(it, LogLevel.DEBUG, messageCallable.call())
 }
 
 fun Any.trace(messageCallable: Callable<String>) = LogExtensions.getLogger(javaClass, FINEST)?.also {
-    it.trace(messageCallable.call())
-}
\ No newline at end of file
+    LogExtensions.log(it, LogLevel.TRACE, messageCallable.call())
+}
@@ -0,0 +1,181 @@
+package org.sevenparadigms.kotlin.common
+
+import com.sun.nio.file.SensitivityWatchEventModifier
+import org.springframework.core.io.ClassPathResource
+import org.springframework.core.io.buffer.DefaultDataBufferFactory
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.ClosedWatchServiceException
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.nio.file.StandardWatchEventKinds.*
+import java.nio.file.WatchService
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.FutureTask
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * Classpath resources loaded once, from the file system or from inside a jar, and kept as read-only buffers.
+ * Files of at least [MAP_THRESHOLD] bytes are memory-mapped instead of read onto the heap.
+ * Paths are normalized as by [ClassPathResource], so `x` and `/x` share one entry.
+ *
+ * For development the file system can be watched with [enableWatching], changed files are loaded again on next access.
+ * While watching, files are always read onto the heap: a mapping is a live view of a file that is expected to change,
+ * it fails with an [InternalError] when the file is truncated and on Windows it locks the file against replacement.
+ *
+ * Entries are kept until they are invalidated, the cache is meant for a fixed set of resources. A mapping is released
+ * only when its buffer is garbage collected, so [invalidate] and [clear] do not unmap files, and on Windows mapped files
+ * stay locked until then.
+ */
+object ResourceCache {
+    const val MAP_THRESHOLD = 64 * 1024
+
+    private class Entry(val buffer: ByteBuffer, val file: Path?)
+
+    private val entries = ConcurrentHashMap<String, FutureTask<Entry>>()
+
+    // loads hold the read lock, so enabling the watcher never misses a load deciding to map a file
+    private val watchLock = ReentrantReadWriteLock()
+
+    @Volatile
+    private var watcher: Watcher? = null
+
+    /**
+     * Read-only view of the resource, positioned at its start and independent of other callers.
+     */
+    @JvmStatic
+    fun get(path: String): ByteBuffer {
+        val key = keyOf(path)
+        var task = entries[key]
+        if (task == null) {
+            // loaded outside of the map, so slow i/o does not block other keys
+            val created = FutureTask { load(key) }
+            task = entries.putIfAbsent(key, created) ?: created.also { it.run() }
+        }
+        try {
+            return task.get().buffer.duplicate()
+        } catch (e: ExecutionException) {
+            entries.remove(key, task)
+            throw e.cause ?: e
+        }
+    }
+
+    @JvmStatic
+    fun getBytes(path: String): ByteArray = get(path).let { buffer -> ByteArray(buffer.remaining()).also { buffer.get(it) } }
+
+    /**
+     * Stream over the cached content, nothing is copied.
+     */
+    @JvmStatic
+    fun openStream(path: String): InputStream = DefaultDataBufferFactory.sharedInstance.wrap(get(path)).asInputStream()
+
+    @JvmStatic
+    fun invalidate(path: String) {
+        entries.remove(keyOf(path))
+    }
+
+    @JvmStatic
+    fun clear() = entries.clear()
+
+    @JvmStatic
+    fun size(): Int = entries.size
+
+    @JvmStatic
+    fun isWatching(): Boolean = watcher != null
+
+    /**
+     * Starts a daemon thread invalidating resources whose files are created, modified or deleted.
+     * Memory-mapped entries are dropped and read onto the heap on next access.
+     */
+    @JvmStatic
+    @Synchronized
+    fun enableWatching() {
+        if (watcher != null) return
+        val started = Watcher(FileSystems.getDefault().newWatchService())
+        watchLock.write {
+            watcher = started
+            // loads which finished without being published yet are dropped too, they may have mapped their file
+            entries.values.removeIf { it.entry()?.buffer?.isDirect != false }
+            entries.values.forEach { task -> task.entry()?.file?.let { started.register(it.parent) } }
+        }
+        started.start()
+    }
+
+    @JvmStatic
+    @Synchronized
+    fun disableWatching() {
+        watcher?.service?.close()
+        watcher = null
+    }
+
+    private fun keyOf(path: String): String = ClassPathResource(path).path
+
+    private fun FutureTask<Entry>.entry(): Entry? =
+        if (isDone) try { get() } catch (e: ExecutionException) { null } else null
+
+    private fun load(path: String): Entry = watchLock.read {
+        val resource = ClassPathResource(path)
+        if (!resource.isFile) {
+            return resource.inputStream.use { Entry(ByteBuffer.wrap(it.readAllBytes()).asReadOnlyBuffer(), null) }
+        }
+        val file = resource.file.toPath()
+        val size = Files.size(file)
+        val buffer = if (size >= MAP_THRESHOLD && watcher == null) {
+            FileChannel.open(file, StandardOpenOption.READ).use { it.map(FileChannel.MapMode.READ_ONLY, 0, size) }
+        } else {
+            ByteBuffer.wrap(Files.readAllBytes(file)).asReadOnlyBuffer()
+        }
+        watcher?.register(file.parent)
+        return Entry(buffer, file)
+    }
+
+    private class Watcher(val service: WatchService) : Thread("resource-cache-watcher") {
+        private val directories = ConcurrentHashMap.newKeySet<Path>()
+
+        init {
+            isDaemon = true
+        }
+
+        fun register(directory: Path) {
+            if (directories.add(directory)) {
+                try {
+                    // polling implementations check every two seconds instead of ten
+                    directory.register(
+                        service, arrayOf(ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), SensitivityWatchEventModifier.HIGH
+                    )
+                } catch (e: ClosedWatchServiceException) {
+                    directories.remove(directory)
+                }
+            }
+        }
+
+        override fun run() {
+            try {
+                while (true) {
+                    val key = service.take()
+                    val directory = key.watchable() as Path
+                    for (event in key.pollEvents()) {
+                        val name = event.context() as? Path
+                        if (event.kind() == OVERFLOW || name == null) {
+                            entries.values.removeIf { it.entry().let { entry -> entry == null || entry.file?.parent == directory } }
+                        } else {
+                            val changed = directory.resolve(name)
+                            entries.values.removeIf { it.entry().let { entry -> entry == null || entry.file == changed } }
+                        }
+                    }
+                    key.reset()
+                }
+            } catch (e: ClosedWatchServiceException) {
+                // closed by disableWatching
+            } catch (e: InterruptedException) {
+                service.close()
+            }
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package org.sevenparadigms.kotlin.common
 
+import org.springframework.data.r2dbc.support.BoundedCache
 import org.springframework.data.r2dbc.support.WordUtils
 
-fun String.remove(regex: String): String = this.replace(regex.toRegex(), "")
+private val regexes = BoundedCache<String, Regex>(256)
+
+private fun String.cachedRegex(): Regex = regexes.computeIfAbsent(this) { it.toRegex() }!!
+
+fun String.remove(regex: String): String = this.replace(regex.cachedRegex(), "")
+
+fun String.remove(regex: Regex): String = this.replace(regex, "")
 
 fun String.removeBefore(template: String): String =
     if (this.contains(template)) this.substring(this.lastIndexOf(template) + template.length) else this
@@ -10,13 +17,26 @@ fun String.removeBefore(template: String): String =
 fun String.removeAfter(template: String): String =
     if (this.contains(template)) this.substring(0, this.indexOf(template)) else this
 
+fun String.camelToSql(): String = WordUtils.camelToSql(this)
+
+fun String.sqlToCamel(): String = WordUtils.sqlToCamel(this)
+
 fun String.camelToSql(camel: String): String = WordUtils.camelToSql(camel)
 
 fun String.sqlToCamel(sqlName: String): String = WordUtils.sqlToCamel(sqlName)
 
+/**
+ * Replaces the matches of the regex in order by the arguments, in a single pass over the string.
+ */
 fun String.binding(regex: String, vararg arr: String): String {
+    val matcher = regex.cachedRegex().toPattern().matcher(this)
+    if (!matcher.find()) return this
+    val result = StringBuilder(this.length + arr.sumOf { it.length })
+    var last = 0
     var i = 0
-    var result = this
-    Regex(regex).findAll(this).map { it.value }.forEach { result = result.replaceFirst(it, arr[i++]) }
-    return result
-}
\ No newline at end of file
+    do {
+        result.append(this, last, matcher.start()).append(arr[i++])
+        last = matcher.end()
+    } while (matcher.find())
+    return result.append(this, last, this.length).toString()
+}
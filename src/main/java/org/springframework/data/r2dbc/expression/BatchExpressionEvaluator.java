@@ -0,0 +1,107 @@
+package org.springframework.data.r2dbc.expression;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.expression.MapAccessor;
+import org.springframework.data.r2dbc.support.FastPropertyAccessor;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Evaluates one expression against many root objects with a single evaluation context, prepared once:
+ * maps are read by key, properties through {@link FastPropertyAccessor}, anything else reflectively.
+ * Variables set on {@link #getContext()} before a batch are visible to every evaluation.
+ * <p>
+ * Instances are not thread-safe: the mutable context is shared by every call, including {@link #filter(Flux)},
+ * so use one evaluator per thread, or per subscription when the filtered fluxes are subscribed concurrently.
+ *
+ * @author Lao Tsing
+ */
+public class BatchExpressionEvaluator {
+    private final Expression expression;
+    private final StandardEvaluationContext context;
+
+    public BatchExpressionEvaluator(@NotNull String expressionString) {
+        this(ExpressionParserCache.INSTANCE.parseExpression(expressionString));
+    }
+
+    public BatchExpressionEvaluator(@NotNull Expression expression) {
+        this.expression = expression;
+        this.context = new StandardEvaluationContext();
+        context.setPropertyAccessors(List.of(new MapAccessor(), FastPropertyAccessor.INSTANCE, new ReflectivePropertyAccessor()));
+    }
+
+    @NotNull
+    public Expression getExpression() {
+        return expression;
+    }
+
+    @NotNull
+    public StandardEvaluationContext getContext() {
+        return context;
+    }
+
+    public <T> T evaluate(Object root, @NotNull Class<T> cls) {
+        return expression.getValue(context, root, cls);
+    }
+
+    @NotNull
+    public <T> List<T> evaluate(@NotNull List<?> roots, @NotNull Class<T> cls) {
+        var result = new ArrayList<T>(roots.size());
+        for (Object root : roots) {
+            result.add(expression.getValue(context, root, cls));
+        }
+        return result;
+    }
+
+    /**
+     * The expression as a predicate, null is false.
+     */
+    public boolean test(Object root) {
+        return Boolean.TRUE.equals(expression.getValue(context, root, Boolean.class));
+    }
+
+    @NotNull
+    public boolean[] test(@NotNull List<?> roots) {
+        var result = new boolean[roots.size()];
+        int i = 0;
+        for (Object root : roots) {
+            result[i++] = test(root);
+        }
+        return result;
+    }
+
+    @NotNull
+    public BitSet testBits(@NotNull List<?> roots) {
+        var result = new BitSet(roots.size());
+        int i = 0;
+        for (Object root : roots) {
+            if (test(root)) result.set(i);
+            i++;
+        }
+        return result;
+    }
+
+    @NotNull
+    public <T> List<T> filter(@NotNull List<T> roots) {
+        var result = new ArrayList<T>();
+        for (T root : roots) {
+            if (test(root)) result.add(root);
+        }
+        return result;
+    }
+
+    /**
+     * Signals of one flux are delivered serially, so the shared context is safe as long as no other call uses
+     * this evaluator at the same time.
+     */
+    @NotNull
+    public <T> Flux<T> filter(@NotNull Flux<T> roots) {
+        return roots.filter(this::test);
+    }
+}
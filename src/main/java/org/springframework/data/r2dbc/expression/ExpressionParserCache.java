@@ -1,30 +1,153 @@
 package org.springframework.data.r2dbc.expression;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.r2dbc.support.BoundedCache;
+import org.springframework.data.r2dbc.support.CacheStats;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ClassUtils;
 
-import java.util.Map;
+import java.time.Duration;
 
+/**
+ * Parser keeping parsed expressions in a bounded cache, so repeated expressions are parsed once
+ * and the cache size does not depend on the input or on memory pressure.
+ * <p>
+ * With {@link SpelCompilerMode#MIXED} an expression is interpreted while spel counts its evaluations and is compiled
+ * to bytecode once it becomes hot, {@link SpelCompilerMode#IMMEDIATE} compiles it after the first evaluation.
+ * Compiled classes are defined in a class loader owned by the cache, so they are unloaded together with it.
+ * {@link #INSTANCE} runs in {@code MIXED} mode unless the {@code spring.expression.compiler.mode} property says otherwise.
+ *
+ * @author Lao Tsing
+ */
 public class ExpressionParserCache implements ExpressionParser {
-    public static final ExpressionParserCache INSTANCE = new ExpressionParserCache();
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+    public static final ExpressionParserCache INSTANCE = new ExpressionParserCache(DEFAULT_MAXIMUM_SIZE, null, defaultCompilerMode());
 
-    private static final Map<String, Expression> CACHE = new ConcurrentReferenceHashMap<>(512);
-    private static final ExpressionParser PARSER = new SpelExpressionParser();
+    private final BoundedCache<Object, Expression> cache;
+    private final ExpressionParser parser;
+    private final SpelCompilerMode compilerMode;
+
+    public ExpressionParserCache() {
+        this(DEFAULT_MAXIMUM_SIZE, null);
+    }
+
+    public ExpressionParserCache(int maximumSize, @Nullable Duration expireAfterAccess) {
+        this(maximumSize, expireAfterAccess, null);
+    }
+
+    /**
+     * @param compilerMode mode of the spel compiler, {@code null} keeps the default taken from
+     *                     the {@code spring.expression.compiler.mode} property
+     */
+    public ExpressionParserCache(int maximumSize, @Nullable Duration expireAfterAccess, @Nullable SpelCompilerMode compilerMode) {
+        this.cache = new BoundedCache<>(maximumSize, expireAfterAccess);
+        var configuration = compilerMode == null ? new SpelParserConfiguration()
+                : new SpelParserConfiguration(compilerMode, new CompilerClassLoader(ClassUtils.getDefaultClassLoader()));
+        this.parser = new SpelExpressionParser(configuration);
+        this.compilerMode = configuration.getCompilerMode();
+    }
+
+    private static SpelCompilerMode defaultCompilerMode() {
+        var mode = SpringProperties.getProperty(SpelParserConfiguration.SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME);
+        return mode != null ? SpelCompilerMode.valueOf(mode.toUpperCase()) : SpelCompilerMode.MIXED;
+    }
+
+    @NotNull
+    public SpelCompilerMode getCompilerMode() {
+        return compilerMode;
+    }
 
     @Override
     @NotNull
     public Expression parseExpression(@NotNull String expressionString) throws ParseException {
-        return CACHE.computeIfAbsent(expressionString, key -> PARSER.parseExpression(expressionString));
+        return cache.computeIfAbsent(expressionString, key -> parser.parseExpression(expressionString));
     }
 
+    /**
+     * Template expressions are cached by the expression string together with the prefix and suffix of the context,
+     * a context which is not a template parses the string as a plain expression.
+     */
     @Override
     @NotNull
-    public Expression parseExpression(@NotNull String expressionString, @NotNull ParserContext context) throws ParseException {
-        throw new UnsupportedOperationException("Parsing using ParserContext is not supported");
+    public Expression parseExpression(@NotNull String expressionString, @Nullable ParserContext context) throws ParseException {
+        if (context == null || !context.isTemplate()) {
+            return parseExpression(expressionString);
+        }
+        var key = new TemplateKey(expressionString, context.getExpressionPrefix(), context.getExpressionSuffix());
+        return cache.computeIfAbsent(key, it -> parser.parseExpression(expressionString, context));
+    }
+
+    /**
+     * Parses the expression and compiles it right away when possible. Expressions whose operand types
+     * are known only after an evaluation stay interpreted until the compiler mode compiles them.
+     */
+    @NotNull
+    public Expression compile(@NotNull String expressionString) throws ParseException {
+        var expression = parseExpression(expressionString);
+        if (expression instanceof SpelExpression) {
+            ((SpelExpression) expression).compileExpression();
+        }
+        return expression;
+    }
+
+    @NotNull
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Parent of the loader spel defines compiled expressions in, it holds nothing itself and needs no closing:
+     * spel keys its compilers weakly by this loader, so compiled classes go away with the cache.
+     */
+    private static final class CompilerClassLoader extends ClassLoader {
+        static {
+            registerAsParallelCapable();
+        }
+
+        private CompilerClassLoader(@Nullable ClassLoader parent) {
+            super(parent);
+        }
+    }
+
+    private static final class TemplateKey {
+        private final String expression;
+        private final String prefix;
+        private final String suffix;
+
+        private TemplateKey(String expression, String prefix, String suffix) {
+            this.expression = expression;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TemplateKey)) return false;
+            var that = (TemplateKey) o;
+            return expression.equals(that.expression) && prefix.equals(that.prefix) && suffix.equals(that.suffix);
+        }
+
+        @Override
+        public int hashCode() {
+            return (expression.hashCode() * 31 + prefix.hashCode()) * 31 + suffix.hashCode();
+        }
     }
 }
@@ -8,6 +8,8 @@ import org.springframework.data.r2dbc.support.SqlField;
 import org.springframework.data.r2dbc.support.WordUtils;
 import org.springframework.lang.NonNull;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -15,11 +17,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.*;
+import java.util.stream.LongStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
@@ -58,6 +57,7 @@ public class Dsl implements Serializable {
 
     public Dsl(final String query, final Integer page, final Integer size, final String sort, final String lang, final String fields, final Integer top, final Boolean distinct) {
         this.query = query != null ? query : EMPTY;
+        this.blank = isBlank(this.query);
         this.page = page != null ? page : -1;
         this.size = size != null ? size : -1;
         this.sort = !ObjectUtils.isEmpty(sort) ? sort : EMPTY;
@@ -68,6 +68,10 @@ public class Dsl implements Serializable {
     }
 
     private String query;
+    private final List<Criterion> criteria = new ArrayList<>();
+    private final List<DslIdSet> idSets = new ArrayList<>();
+    private boolean blank;
+    private transient String decodedQuery;
     private String lang;
     private String[] fields;
     private Integer page;
@@ -94,8 +98,8 @@ public class Dsl implements Serializable {
     }
 
     public String getQuery() {
-        String decodedQuery = null;
-        if (query != null) {
+        flush();
+        if (decodedQuery == null && query != null) {
             try {
                 decodedQuery = URLDecoder.decode(query.trim(), UTF_8.displayName());
             } catch (UnsupportedEncodingException e) {
@@ -107,6 +111,18 @@ public class Dsl implements Serializable {
 
     public void setQuery(String query) {
         this.query = query;
+        this.decodedQuery = null;
+        this.criteria.clear();
+        this.idSets.clear();
+        this.blank = query == null || isBlank(query);
+    }
+
+    /**
+     * Parsed criteria of the query, shared between all instances with the same query string.
+     */
+    @JsonIgnore
+    public List<DslCriteria> getCriteria() {
+        return DslCriteria.parse(getQuery());
     }
 
     public String getLang() {
@@ -205,52 +221,128 @@ public class Dsl implements Serializable {
 
     public Dsl in(String field, UUID... ids) {
         if (field != null && ids.length > 0) {
-            query = start(query) + field + in + Stream.of(ids).map(Object::toString).collect(Collectors.joining(SPACE));
+            idSet(DslIdSet.ofUuids(field, false, ids), in);
         }
         return this;
     }
 
     public Dsl in(String field, @NonNull List<UUID> ids) {
-        return in(field, ids.toArray(new UUID[0]));
+        return in(field, (Collection<UUID>) ids);
+    }
+
+    public Dsl in(String field, @NonNull Collection<UUID> ids) {
+        if (field != null && !ids.isEmpty()) {
+            idSet(DslIdSet.ofUuids(field, false, ids), in);
+        }
+        return this;
+    }
+
+    public Dsl in(String field, @NonNull long[] ids) {
+        if (field != null && ids.length > 0) {
+            idSet(DslIdSet.ofLongs(field, false, ids.clone()), in);
+        }
+        return this;
+    }
+
+    public Dsl in(String field, @NonNull int[] ids) {
+        if (field != null && ids.length > 0) {
+            var longs = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                longs[i] = ids[i];
+            }
+            idSet(DslIdSet.ofLongs(field, false, longs), in);
+        }
+        return this;
+    }
+
+    public Dsl in(String field, @NonNull LongStream ids) {
+        return field != null ? in(field, ids.iterator()) : this;
+    }
+
+    public Dsl in(String field, @NonNull PrimitiveIterator.OfLong ids) {
+        if (field != null) {
+            var longs = toArray(ids);
+            if (longs.length > 0) {
+                idSet(DslIdSet.ofLongs(field, false, longs), in);
+            }
+        }
+        return this;
     }
 
     public Dsl in(String field, Number... ids) {
         if (field != null && ids.length > 0) {
-            query = start(query) + field + in + Stream.of(ids).map(it ->
-                    (String) ConvertUtils.convert(it, String.class)).collect(Collectors.joining(SPACE));
+            append(field, in, ids);
         }
         return this;
     }
 
     public Dsl in(String field, String... ids) {
         if (field != null && ids.length > 0) {
-            query = start(query) + field + in + String.join(SPACE, ids);
+            append(field, in, ids);
         }
         return this;
     }
 
     public Dsl notIn(String field, UUID... ids) {
         if (field != null && ids.length > 0) {
-            query = start(query) + field + notIn + Stream.of(ids).map(Object::toString).collect(Collectors.joining(SPACE));
+            idSet(DslIdSet.ofUuids(field, true, ids), notIn);
         }
         return this;
     }
 
     public Dsl notIn(String field, @NonNull List<UUID> ids) {
-        return notIn(field, ids.toArray(new UUID[0]));
+        return notIn(field, (Collection<UUID>) ids);
+    }
+
+    public Dsl notIn(String field, @NonNull Collection<UUID> ids) {
+        if (field != null && !ids.isEmpty()) {
+            idSet(DslIdSet.ofUuids(field, true, ids), notIn);
+        }
+        return this;
+    }
+
+    public Dsl notIn(String field, @NonNull long[] ids) {
+        if (field != null && ids.length > 0) {
+            idSet(DslIdSet.ofLongs(field, true, ids.clone()), notIn);
+        }
+        return this;
+    }
+
+    public Dsl notIn(String field, @NonNull int[] ids) {
+        if (field != null && ids.length > 0) {
+            var longs = new long[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                longs[i] = ids[i];
+            }
+            idSet(DslIdSet.ofLongs(field, true, longs), notIn);
+        }
+        return this;
+    }
+
+    public Dsl notIn(String field, @NonNull LongStream ids) {
+        return field != null ? notIn(field, ids.iterator()) : this;
+    }
+
+    public Dsl notIn(String field, @NonNull PrimitiveIterator.OfLong ids) {
+        if (field != null) {
+            var longs = toArray(ids);
+            if (longs.length > 0) {
+                idSet(DslIdSet.ofLongs(field, true, longs), notIn);
+            }
+        }
+        return this;
     }
 
     public Dsl notIn(String field, Number... ids) {
         if (field != null && ids.length > 0) {
-            query = start(query) + field + notIn + Stream.of(ids).map(it ->
-                    (String) ConvertUtils.convert(it, String.class)).collect(Collectors.joining(SPACE));
+            append(field, notIn, ids);
         }
         return this;
     }
 
     public Dsl notIn(String field, String... ids) {
         if (field != null && ids.length > 0) {
-            query = start(query) + field + notIn + String.join(SPACE, ids);
+            append(field, notIn, ids);
         }
         return this;
     }
@@ -302,21 +394,21 @@ public class Dsl implements Serializable {
 
     public Dsl equals(String field, Object value) {
         if (field != null && value != null) {
-            query = start(query) + field + equal + value;
+            append(field, equal, value);
         }
         return this;
     }
 
     public Dsl isTrue(String field) {
         if (field != null) {
-            query = start(query) + field;
+            append(EMPTY, field, EMPTY, null);
         }
         return this;
     }
 
     public Dsl isFalse(String field) {
         if (field != null) {
-            query = start(query) + not + field;
+            append(not, field, EMPTY, null);
         }
         return this;
     }
@@ -351,168 +443,168 @@ public class Dsl implements Serializable {
 
     public Dsl notEquals(String field, Object value) {
         if (field != null && value != null) {
-            query = start(query) + field + notEqual + value;
+            append(field, notEqual, value);
         }
         return this;
     }
 
     public Dsl greaterThan(String field, Number value) {
         if (field != null && value != null) {
-            query = start(query) + field + greater + value;
+            append(field, greater, value);
         }
         return this;
     }
 
     public Dsl greaterThanOrEquals(String field, Number value) {
         if (field != null && value != null) {
-            query = start(query) + field + greaterEqual + value;
+            append(field, greaterEqual, value);
         }
         return this;
     }
 
     public Dsl lessThan(String field, Number value) {
         if (field != null && value != null) {
-            query = start(query) + field + less + value;
+            append(field, less, value);
         }
         return this;
     }
 
     public Dsl lessThanOrEquals(String field, Number value) {
         if (field != null && value != null) {
-            query = start(query) + field + lessEqual + value;
+            append(field, lessEqual, value);
         }
         return this;
     }
 
     public Dsl greaterThan(String field, LocalDate value) {
         if (field != null && value != null) {
-            query = start(query) + field + greater + value;
+            append(field, greater, value);
         }
         return this;
     }
 
     public Dsl greaterThanOrEquals(String field, LocalDate value) {
         if (field != null && value != null) {
-            query = start(query) + field + greaterEqual + value;
+            append(field, greaterEqual, value);
         }
         return this;
     }
 
     public Dsl lessThan(String field, LocalDate value) {
         if (field != null && value != null) {
-            query = start(query) + field + less + value;
+            append(field, less, value);
         }
         return this;
     }
 
     public Dsl lessThanOrEquals(String field, LocalDate value) {
         if (field != null && value != null) {
-            query = start(query) + field + lessEqual + value;
+            append(field, lessEqual, value);
         }
         return this;
     }
 
     public Dsl greaterThan(String field, LocalDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + greater + value;
+            append(field, greater, value);
         }
         return this;
     }
 
     public Dsl greaterThanOrEquals(String field, LocalDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + greaterEqual + value;
+            append(field, greaterEqual, value);
         }
         return this;
     }
 
     public Dsl lessThan(String field, LocalDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + less + value;
+            append(field, less, value);
         }
         return this;
     }
 
     public Dsl lessThanOrEquals(String field, LocalDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + lessEqual + value;
+            append(field, lessEqual, value);
         }
         return this;
     }
 
     public Dsl greaterThan(String field, ZonedDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + greater + WordUtils.removeAfter(value.toString(), "[");
+            append(field, greater, WordUtils.removeAfter(value.toString(), "["));
         }
         return this;
     }
 
     public Dsl greaterThanOrEquals(String field, ZonedDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + greaterEqual + WordUtils.removeAfter(value.toString(), "[");
+            append(field, greaterEqual, WordUtils.removeAfter(value.toString(), "["));
         }
         return this;
     }
 
     public Dsl lessThan(String field, ZonedDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + less + WordUtils.removeAfter(value.toString(), "[");
+            append(field, less, WordUtils.removeAfter(value.toString(), "["));
         }
         return this;
     }
 
     public Dsl lessThanOrEquals(String field, ZonedDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + lessEqual +  WordUtils.removeAfter(value.toString(), "[");
+            append(field, lessEqual, WordUtils.removeAfter(value.toString(), "["));
         }
         return this;
     }
 
     public Dsl greaterThan(String field, OffsetDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + greater + value;
+            append(field, greater, value);
         }
         return this;
     }
 
     public Dsl greaterThanOrEquals(String field, OffsetDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + greaterEqual + value;
+            append(field, greaterEqual, value);
         }
         return this;
     }
 
     public Dsl lessThan(String field, OffsetDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + less + value;
+            append(field, less, value);
         }
         return this;
     }
 
     public Dsl lessThanOrEquals(String field, OffsetDateTime value) {
         if (field != null && value != null) {
-            query = start(query) + field + lessEqual + value;
+            append(field, lessEqual, value);
         }
         return this;
     }
 
     public Dsl isNull(String field) {
         if (field != null) {
-            query = start(query) + isNull + field;
+            append(isNull, field, EMPTY, null);
         }
         return this;
     }
 
     public Dsl isNotNull(String field) {
         if (field != null) {
-            query = start(query) + notNull + field;
+            append(notNull, field, EMPTY, null);
         }
         return this;
     }
 
     public Dsl like(String field, String filter) {
         if (field != null && filter != null) {
-            query = start(query) + field + like + filter.trim();
+            append(field, like, filter.trim());
         }
         return this;
     }
@@ -523,7 +615,7 @@ public class Dsl implements Serializable {
 
     public Dsl fts(String field, String filter) {
         if (field != null && SQLInjectionSafe.throwElse(filter)) {
-            query = start(query) + field + fts + filter.trim();
+            append(field, fts, filter.trim());
         }
         return this;
     }
@@ -540,20 +632,144 @@ public class Dsl implements Serializable {
         this.fields = fields.toArray(new String[0]);
     }
 
-    private String start(@NonNull String string) {
-        if (string.trim().isEmpty())
-            return EMPTY;
-        else {
-            if (orSignal) {
-                orSignal = false;
-                return string + COMMA + "()";
+    /**
+     * Id sets bound to in-lists built from uuids or primitive ids, in the order they were added.
+     */
+    @JsonIgnore
+    public List<DslIdSet> getIdSets() {
+        return Collections.unmodifiableList(idSets);
+    }
+
+    private void idSet(DslIdSet idSet, String operator) {
+        idSets.add(idSet);
+        append(idSet.getField(), operator, idSet);
+    }
+
+    private void append(String field, String operator, Object value) {
+        append(EMPTY, field, operator, value);
+    }
+
+    private void append(String prefix, String field, String operator, Object value) {
+        var criterion = new Criterion(blank, !blank && orSignal, prefix, field, operator, render(value));
+        if (criterion.or) {
+            orSignal = false;
+        }
+        criteria.add(criterion);
+        decodedQuery = null;
+        blank = blank && criterion.isBlank();
+    }
+
+    /**
+     * Renders accumulated criteria into the query string once, instead of copying the whole query on every builder call.
+     */
+    private void flush() {
+        if (!criteria.isEmpty()) {
+            var builder = new StringBuilder(query != null ? query : EMPTY);
+            for (Criterion criterion : criteria) {
+                if (criterion.reset) {
+                    builder.setLength(0);
+                } else {
+                    builder.append(COMMA);
+                    if (criterion.or) builder.append("()");
+                }
+                criterion.appendTo(builder);
+            }
+            query = builder.toString();
+            criteria.clear();
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        flush();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * Values are rendered when appended, so later changes of the caller's varargs array or value objects are not seen.
+     * Id sets are immutable and are rendered on flush.
+     */
+    private static Object render(Object value) {
+        if (value == null || value instanceof String || value instanceof DslIdSet) {
+            return value;
+        }
+        if (value instanceof Object[]) {
+            var values = (Object[]) value;
+            var builder = new StringBuilder();
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) builder.append(SPACE);
+                builder.append(values[i]);
             }
-            return string + COMMA;
+            return builder.toString();
         }
+        return value.toString();
     }
 
+    private static long[] toArray(PrimitiveIterator.OfLong ids) {
+        var longs = new long[16];
+        int size = 0;
+        while (ids.hasNext()) {
+            if (size == longs.length) longs = Arrays.copyOf(longs, size * 2);
+            longs[size++] = ids.nextLong();
+        }
+        return Arrays.copyOf(longs, size);
+    }
+
+    private static boolean isBlank(String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of comma separated segments of the query as counted by {@code String.split}: empty segments between
+     * commas are counted, trailing ones are not. {@link #getCriteria()} skips every empty segment.
+     */
     @JsonIgnore
     public int getCriteriaCount() {
-        return getQuery().split(Dsl.COMMA).length - (getQuery().isEmpty() ? 1 : 0);
+        var query = getQuery();
+        int end = query.length();
+        while (end > 0 && query.charAt(end - 1) == ',') end--;
+        if (end == 0) return 0;
+        int count = 1;
+        for (int i = 0; i < end; i++) {
+            if (query.charAt(i) == ',') count++;
+        }
+        return count;
+    }
+
+    private static final class Criterion implements Serializable {
+        private final boolean reset;
+        private final boolean or;
+        private final String prefix;
+        private final String field;
+        private final String operator;
+        private final Object value;
+
+        private Criterion(boolean reset, boolean or, String prefix, String field, String operator, Object value) {
+            this.reset = reset;
+            this.or = or;
+            this.prefix = prefix;
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        private void appendTo(StringBuilder builder) {
+            builder.append(prefix).append(field).append(operator);
+            if (value instanceof DslIdSet) {
+                ((DslIdSet) value).appendTo(builder);
+            } else if (value != null) {
+                builder.append(value);
+            }
+        }
+
+        private boolean isBlank() {
+            if (!Dsl.isBlank(prefix) || !Dsl.isBlank(field) || !Dsl.isBlank(operator)) return false;
+            if (value == null) return true;
+            var builder = new StringBuilder();
+            appendTo(builder);
+            return Dsl.isBlank(builder.toString());
+        }
     }
-}
\ No newline at end of file
+}
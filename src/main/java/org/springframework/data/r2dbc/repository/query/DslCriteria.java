@@ -0,0 +1,147 @@
+package org.springframework.data.r2dbc.repository.query;
+
+import org.springframework.data.r2dbc.support.BoundedCache;
+import org.springframework.data.r2dbc.support.StringConverters;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed criterion of the dsl query language. Parsing results are immutable and cached per query string.
+ *
+ * @author Lao Tsing
+ */
+public final class DslCriteria implements Serializable {
+    private static final String OR = "()";
+    private static final Operator[] INFIX = {
+            Operator.IN, Operator.NOT_IN, Operator.EQUAL, Operator.NOT_EQUAL, Operator.GREATER, Operator.GREATER_EQUAL,
+            Operator.LESS, Operator.LESS_EQUAL, Operator.LIKE, Operator.FTS
+    };
+    private static final BoundedCache<String, List<DslCriteria>> CACHE = new BoundedCache<>(1024);
+
+    public enum Operator {
+        IN(Dsl.in), NOT_IN(Dsl.notIn), EQUAL(Dsl.equal), NOT_EQUAL(Dsl.notEqual),
+        GREATER(Dsl.greater), GREATER_EQUAL(Dsl.greaterEqual), LESS(Dsl.less), LESS_EQUAL(Dsl.lessEqual),
+        LIKE(Dsl.like), FTS(Dsl.fts), IS_NULL(Dsl.isNull), NOT_NULL(Dsl.notNull), IS_TRUE(""), IS_FALSE(Dsl.not);
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public boolean isUnary() {
+            return ordinal() >= IS_NULL.ordinal();
+        }
+    }
+
+    private final boolean or;
+    private final String field;
+    private final Operator operator;
+    @Nullable
+    private final String value;
+
+    private DslCriteria(boolean or, String field, Operator operator, @Nullable String value) {
+        this.or = or;
+        this.field = field;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public boolean isOr() {
+        return or;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    @Nullable
+    public String getValue() {
+        return value;
+    }
+
+    @Nullable
+    public <T> T getValue(@NonNull Class<T> cls) {
+        return (T) StringConverters.convert(value, cls);
+    }
+
+    @NonNull
+    public List<String> getValues() {
+        if (value == null) return Collections.emptyList();
+        if (operator != Operator.IN && operator != Operator.NOT_IN) return List.of(value);
+        var values = new ArrayList<String>();
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == ' ') {
+                if (i > start) values.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return values;
+    }
+
+    @NonNull
+    public <T> List<T> getValues(@NonNull Class<T> cls) {
+        var values = getValues();
+        var result = new ArrayList<T>(values.size());
+        for (String item : values) {
+            result.add((T) StringConverters.convert(item, cls));
+        }
+        return result;
+    }
+
+    @NonNull
+    public static List<DslCriteria> parse(@Nullable String query) {
+        if (query == null || query.isBlank()) return Collections.emptyList();
+        return CACHE.computeIfAbsent(query, DslCriteria::doParse);
+    }
+
+    private static List<DslCriteria> doParse(String query) {
+        var result = new ArrayList<DslCriteria>();
+        int start = 0;
+        for (int i = 0; i <= query.length(); i++) {
+            if (i == query.length() || query.charAt(i) == ',') {
+                var criteria = parseCriteria(query.substring(start, i).trim());
+                if (criteria != null) result.add(criteria);
+                start = i + 1;
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Nullable
+    private static DslCriteria parseCriteria(String text) {
+        var or = text.startsWith(OR);
+        if (or) text = text.substring(OR.length());
+        if (text.isEmpty()) return null;
+        for (int i = 0; i < text.length() - 1; i++) {
+            for (Operator operator : INFIX) {
+                if (text.startsWith(operator.symbol, i)) {
+                    return new DslCriteria(or, text.substring(0, i), operator, text.substring(i + operator.symbol.length()));
+                }
+            }
+        }
+        if (text.startsWith(Dsl.notNull)) return new DslCriteria(or, text.substring(Dsl.notNull.length()), Operator.NOT_NULL, null);
+        if (text.startsWith(Dsl.isNull)) return new DslCriteria(or, text.substring(Dsl.isNull.length()), Operator.IS_NULL, null);
+        if (text.startsWith(Dsl.not)) return new DslCriteria(or, text.substring(Dsl.not.length()), Operator.IS_FALSE, null);
+        return new DslCriteria(or, text, Operator.IS_TRUE, null);
+    }
+
+    @Override
+    public String toString() {
+        return (or ? OR : "") + (operator.isUnary() ? operator.symbol + field : field + operator.symbol + value);
+    }
+}
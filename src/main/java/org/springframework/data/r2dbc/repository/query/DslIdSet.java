@@ -0,0 +1,129 @@
+package org.springframework.data.r2dbc.repository.query;
+
+import org.springframework.lang.NonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Compact binary form of an in-list: ids are held as a primitive array (two longs per uuid),
+ * so downstream sql generation can bind them as a single array parameter instead of parsing the query.
+ *
+ * @author Lao Tsing
+ */
+public final class DslIdSet implements Serializable {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public enum Type {LONG, UUID}
+
+    private final String field;
+    private final boolean negated;
+    private final Type type;
+    private final long[] data;
+
+    private DslIdSet(String field, boolean negated, Type type, long[] data) {
+        this.field = field;
+        this.negated = negated;
+        this.type = type;
+        this.data = data;
+    }
+
+    static DslIdSet ofLongs(String field, boolean negated, long[] ids) {
+        return new DslIdSet(field, negated, Type.LONG, ids);
+    }
+
+    static DslIdSet ofUuids(String field, boolean negated, UUID[] ids) {
+        var data = new long[ids.length * 2];
+        for (int i = 0; i < ids.length; i++) {
+            data[i * 2] = ids[i].getMostSignificantBits();
+            data[i * 2 + 1] = ids[i].getLeastSignificantBits();
+        }
+        return new DslIdSet(field, negated, Type.UUID, data);
+    }
+
+    static DslIdSet ofUuids(String field, boolean negated, Collection<UUID> ids) {
+        var data = new long[ids.size() * 2];
+        int i = 0;
+        for (UUID id : ids) {
+            data[i++] = id.getMostSignificantBits();
+            data[i++] = id.getLeastSignificantBits();
+        }
+        return new DslIdSet(field, negated, Type.UUID, data);
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public boolean isNegated() {
+        return negated;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int size() {
+        return type == Type.UUID ? data.length / 2 : data.length;
+    }
+
+    @NonNull
+    public long[] toLongArray() {
+        if (type != Type.LONG) {
+            throw new IllegalStateException("Id set of " + field + " contains " + type);
+        }
+        return Arrays.copyOf(data, data.length);
+    }
+
+    @NonNull
+    public UUID[] toUuidArray() {
+        if (type != Type.UUID) {
+            throw new IllegalStateException("Id set of " + field + " contains " + type);
+        }
+        var ids = new UUID[size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(data[i * 2], data[i * 2 + 1]);
+        }
+        return ids;
+    }
+
+    /**
+     * Array suitable for binding: {@code Long[]} or {@code UUID[]}.
+     */
+    @NonNull
+    public Object[] toArray() {
+        if (type == Type.UUID) return toUuidArray();
+        return Arrays.stream(data).boxed().toArray(Long[]::new);
+    }
+
+    void appendTo(StringBuilder builder) {
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) builder.append(' ');
+            if (type == Type.LONG) {
+                builder.append(data[i]);
+            } else {
+                appendUuid(builder, data[i * 2], data[i * 2 + 1]);
+            }
+        }
+    }
+
+    private static void appendUuid(StringBuilder builder, long msb, long lsb) {
+        appendHex(builder, msb >>> 32, 8);
+        builder.append('-');
+        appendHex(builder, msb >>> 16, 4);
+        builder.append('-');
+        appendHex(builder, msb, 4);
+        builder.append('-');
+        appendHex(builder, lsb >>> 48, 4);
+        builder.append('-');
+        appendHex(builder, lsb, 12);
+    }
+
+    private static void appendHex(StringBuilder builder, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            builder.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.springframework.data.r2dbc.support;
+
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * Precomputed property table of a class: every property name is resolved once to an index
+ * with pre-bound getters and setter, so get/set is an array dispatch without string building.
+ *
+ * @author Lao Tsing
+ */
+final class BeanAccessor {
+	private static final ClassValue<BeanAccessor> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected BeanAccessor computeValue(@NonNull Class<?> type) {
+			return new BeanAccessor(type);
+		}
+	};
+	private static final FastMethod[] NO_GETTERS = new FastMethod[0];
+	private static final String SET = "set", GET = "get", IS = "is";
+
+	private final Class<?> type;
+	@Nullable
+	private final Constructor<?> constructor;
+	private final Map<String, Integer> indexes;
+	private final Field[] fields;
+	private final FastMethod[][] getters;
+	private final FastMethod[] setters;
+
+	private BeanAccessor(Class<?> type) {
+		this.type = type;
+		this.constructor = resolveConstructor(type);
+		var properties = new ArrayList<Field>();
+		var propertyIndexes = new HashMap<String, Integer>();
+		for (Field field : FastMethodInvoker.reflectionStorage(type)) {
+			var index = propertyIndexes.get(field.getName());
+			if (index == null) {
+				propertyIndexes.put(field.getName(), properties.size());
+				properties.add(field);
+			} else if (isStatic(properties.get(index).getModifiers()) && !isStatic(field.getModifiers())) {
+				properties.set(index, field);
+			}
+		}
+		this.indexes = propertyIndexes;
+		this.fields = properties.toArray(new Field[0]);
+		this.getters = new FastMethod[fields.length][];
+		this.setters = new FastMethod[fields.length];
+		FastClass fastClass = fields.length > 0 ? FastClass.create(type) : null;
+		for (int i = 0; i < fields.length; i++) {
+			var capitalized = StringUtils.capitalize(fields[i].getName());
+			getters[i] = isStatic(fields[i].getModifiers()) ? NO_GETTERS : resolveGetters(fastClass, capitalized);
+			setters[i] = resolve(fastClass, SET + capitalized, new Class[]{fields[i].getType()});
+		}
+	}
+
+	@NonNull
+	static BeanAccessor of(@NonNull Class<?> type) {
+		return ACCESSORS.get(type);
+	}
+
+	@NonNull
+	Object newInstance() {
+		if (constructor == null) {
+			throw new RuntimeException(new NoSuchMethodException(type.getName() + ".<init>()"));
+		}
+		try {
+			return constructor.newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	int indexOf(@NonNull String name) {
+		var index = indexes.get(name);
+		return index != null ? index : -1;
+	}
+
+	int size() {
+		return fields.length;
+	}
+
+	@NonNull
+	Field getField(int index) {
+		return fields[index];
+	}
+
+	@NonNull
+	Class<?> getType(int index) {
+		return fields[index].getType();
+	}
+
+	boolean isReadable(int index) {
+		return getters[index].length > 0;
+	}
+
+	boolean isWritable(int index) {
+		return setters[index] != null;
+	}
+
+	@Nullable
+	Object get(@NonNull Object any, int index) {
+		for (FastMethod getter : getters[index]) {
+			try {
+				return getter.invoke(any, null);
+			} catch (InvocationTargetException ignored) {
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads through the first getter and lets its exception through, unlike {@link #get} which falls back to the next
+	 * getter and then to null.
+	 */
+	@Nullable
+	Object read(@NonNull Object any, int index) throws InvocationTargetException {
+		return getters[index][0].invoke(any, null);
+	}
+
+	void set(@NonNull Object any, int index, @Nullable Object value) {
+		var setter = setters[index];
+		if (setter == null) {
+			throw new NoSuchMethodError(SET + StringUtils.capitalize(fields[index].getName()) + " in " + type.getName());
+		}
+		try {
+			setter.invoke(any, new Object[]{value});
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@Nullable
+	private static Constructor<?> resolveConstructor(Class<?> type) {
+		try {
+			return type.getConstructor();
+		} catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+	}
+
+	private static FastMethod[] resolveGetters(FastClass fastClass, String capitalized) {
+		List<FastMethod> result = new ArrayList<>(2);
+		for (String prefix : new String[]{GET, IS}) {
+			var getter = resolve(fastClass, prefix + capitalized, new Class[0]);
+			if (getter != null) result.add(getter);
+		}
+		return result.isEmpty() ? NO_GETTERS : result.toArray(new FastMethod[0]);
+	}
+
+	@Nullable
+	private static FastMethod resolve(FastClass fastClass, String methodName, Class<?>[] parameterTypes) {
+		try {
+			return fastClass.getMethod(methodName, parameterTypes);
+		} catch (NoSuchMethodError e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package org.springframework.data.r2dbc.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.commons.beanutils.ConvertUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static java.lang.reflect.Modifier.isStatic;
+
+/**
+ * Copy plan between a pair of classes: matching properties and their conversions are resolved once,
+ * so a copy is a straight run of pre-bound getter/setter calls.
+ *
+ * @author Lao Tsing
+ */
+final class BeanCopier {
+	private static final ClassValue<Map<Class<?>, BeanCopier>> COPIERS = new ClassValue<>() {
+		@Override
+		protected Map<Class<?>, BeanCopier> computeValue(@NonNull Class<?> type) {
+			return new ConcurrentReferenceHashMap<>(16);
+		}
+	};
+
+	enum Mode {ALL, NOT_NULL, IS_NULL}
+
+	private final BeanAccessor source;
+	private final BeanAccessor target;
+	private final int[] sourceIndexes;
+	private final int[] targetIndexes;
+	private final UnaryOperator<Object>[] conversions;
+
+	@SuppressWarnings("unchecked")
+	private BeanCopier(Class<?> sourceType, Class<?> targetType) {
+		this.source = BeanAccessor.of(sourceType);
+		this.target = BeanAccessor.of(targetType);
+		var sourceList = new ArrayList<Integer>();
+		var targetList = new ArrayList<Integer>();
+		var conversionList = new ArrayList<UnaryOperator<Object>>();
+		for (int targetIndex = 0; targetIndex < target.size(); targetIndex++) {
+			if (isStatic(target.getField(targetIndex).getModifiers()) || !target.isWritable(targetIndex)) continue;
+			var sourceIndex = source.indexOf(target.getField(targetIndex).getName());
+			if (sourceIndex < 0) continue;
+			sourceList.add(sourceIndex);
+			targetList.add(targetIndex);
+			conversionList.add(conversion(source.getType(sourceIndex), target.getType(targetIndex)));
+		}
+		this.sourceIndexes = sourceList.stream().mapToInt(Integer::intValue).toArray();
+		this.targetIndexes = targetList.stream().mapToInt(Integer::intValue).toArray();
+		this.conversions = conversionList.toArray(new UnaryOperator[0]);
+	}
+
+	@NonNull
+	static BeanCopier of(@NonNull Class<?> sourceType, @NonNull Class<?> targetType) {
+		return COPIERS.get(sourceType).computeIfAbsent(targetType, type -> new BeanCopier(sourceType, type));
+	}
+
+	<T> T copy(@NonNull Object sourceObject, @NonNull T targetObject, @NonNull Mode mode) {
+		for (int i = 0; i < targetIndexes.length; i++) {
+			if (mode == Mode.IS_NULL && !isNull(target.get(targetObject, targetIndexes[i]))) continue;
+			var value = source.get(sourceObject, sourceIndexes[i]);
+			if (mode == Mode.NOT_NULL && isNull(value)) continue;
+			if (value != null && conversions[i] != null) {
+				value = conversions[i].apply(value);
+			}
+			FastMethodInvoker.setValue(target, targetObject, targetIndexes[i], value);
+		}
+		return targetObject;
+	}
+
+	private static boolean isNull(@Nullable Object value) {
+		return value == null || (value instanceof JsonNode && ((JsonNode) value).isNull());
+	}
+
+	@Nullable
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static UnaryOperator<Object> conversion(Class<?> sourceType, Class<?> targetType) {
+		if (ClassUtils.resolvePrimitiveIfNecessary(targetType).isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(sourceType))) {
+			return null;
+		}
+		return value -> {
+			if (value instanceof Enum) {
+				return Enum.valueOf((Class<? extends Enum>) targetType, ((Enum) value).name());
+			}
+			try {
+				return FastMethodInvoker.stringToObject(ConvertUtils.convert(value), targetType);
+			} catch (Exception ignore) {
+				return value;
+			}
+		};
+	}
+}
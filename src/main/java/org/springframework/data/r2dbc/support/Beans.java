@@ -1,11 +1,16 @@
 package org.springframework.data.r2dbc.support;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.SmartApplicationListener;
 import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.ResolvableType;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ConcurrentReferenceHashMap;
@@ -14,11 +19,21 @@ import java.util.AbstractMap;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
+/**
+ * Static access to the application context: beans are looked up once per type (qualifier, generic type)
+ * and properties once per name until the context is refreshed or the environment is changed.
+ *
+ * @author Lao Tsing
+ */
 @Configuration(proxyBeanMethods = false)
-public class Beans implements ApplicationContextAware {
+public class Beans implements ApplicationContextAware, SmartApplicationListener {
+    private static final String ENVIRONMENT_CHANGE_EVENT = "org.springframework.cloud.context.environment.EnvironmentChangeEvent";
     private static final AbstractMap<Object, Object> OBJECTS_CACHE = new ConcurrentReferenceHashMap<>(256);
+    private static final BoundedCache<Object, Optional<Object>> PROPERTIES_CACHE = new BoundedCache<>(1024);
+    private static final Counters BEAN_COUNTERS = new Counters();
     @Nullable private static ApplicationContext applicationContext = null;
 
     @Bean({ "objectMapper" })
@@ -33,6 +48,26 @@ public class Beans implements ApplicationContextAware {
         });
     }
 
+    /**
+     * Bean of the type matching the qualifier or the bean name.
+     */
+    public static <T> T ofQualified(@NonNull Class<T> beanType, @NonNull String qualifier) {
+        return cache(new QualifiedKey(beanType, qualifier), () -> {
+            assert getApplicationContext() != null;
+            return BeanFactoryAnnotationUtils.qualifiedBeanOfType(getApplicationContext().getAutowireCapableBeanFactory(), beanType, qualifier);
+        });
+    }
+
+    /**
+     * Bean of a generic type, e.g. {@code ResolvableType.forClassWithGenerics(Repository.class, User.class)}.
+     */
+    public static <T> T of(@NonNull ResolvableType beanType) {
+        return cache(beanType, () -> {
+            assert getApplicationContext() != null;
+            return (T) getApplicationContext().getBeanProvider(beanType).getObject();
+        });
+    }
+
     @Nullable
     public static <T> T of(@NonNull Class<T> beanType, @Nullable T defaultValue) {
         try {
@@ -61,14 +96,32 @@ public class Beans implements ApplicationContextAware {
         return bean;
     }
 
+    /**
+     * Property resolved once and cached until the context is refreshed or the environment changes,
+     * so values computed on every resolution, e.g. {@code random.*}, stay the same; see {@link #clearProperties()}.
+     */
     public static String getProperty(String name, String defaultValue) {
-        return getApplicationContext() != null && getApplicationContext().getEnvironment().getProperty(name) != null ?
-                Objects.requireNonNull(getApplicationContext().getEnvironment().getProperty(name)) : defaultValue;
+        var value = property(name, () -> getApplicationContext().getEnvironment().getProperty(name));
+        return value != null ? (String) value : defaultValue;
     }
 
     public static <T> T getProperty(String name, Class<T> target, T defaultValue) {
-        return getApplicationContext() != null && getApplicationContext().getEnvironment().getProperty(name) != null ?
-                Objects.requireNonNull(getApplicationContext().getEnvironment().getProperty(name, target)) : defaultValue;
+        var value = property(new PropertyKey(name, target), () -> getApplicationContext().getEnvironment().getProperty(name, target));
+        return value != null ? (T) value : defaultValue;
+    }
+
+    @NonNull
+    public static CacheStats getBeanStats() {
+        return BEAN_COUNTERS.stats();
+    }
+
+    @NonNull
+    public static CacheStats getPropertyStats() {
+        return PROPERTIES_CACHE.stats();
+    }
+
+    public static void clearProperties() {
+        PROPERTIES_CACHE.clear();
     }
 
     public static <T> T register(T bean) {
@@ -88,19 +141,35 @@ public class Beans implements ApplicationContextAware {
             throw new RuntimeException("Context is not GenericApplicationContext");
     }
 
-    private static <T> T cache(Class<T> requiredType, Callable<T> callable) {
-        if (OBJECTS_CACHE.get(requiredType) == null) {
-            try {
-                T result = callable.call();
-                if (result != null) {
-                    OBJECTS_CACHE.put(requiredType, result);
-                    return result;
-                }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+    /**
+     * The bean is resolved without holding a lock, because spring may call back into this class while it creates
+     * a singleton under its own lock; threads racing on a missing key may both resolve it and the first one is kept.
+     */
+    private static <T> T cache(Object key, Callable<T> callable) {
+        var cached = OBJECTS_CACHE.get(key);
+        if (cached != null) {
+            BEAN_COUNTERS.hits.increment();
+            return (T) cached;
+        }
+        BEAN_COUNTERS.misses.increment();
+        var start = System.nanoTime();
+        T result;
+        try {
+            result = callable.call();
+        } catch (Exception e) {
+            BEAN_COUNTERS.failed(start);
+            throw new RuntimeException(e);
         }
-        return (T) OBJECTS_CACHE.get(requiredType);
+        BEAN_COUNTERS.loaded(start);
+        if (result == null) return null;
+        var previous = OBJECTS_CACHE.putIfAbsent(key, result);
+        return previous != null ? (T) previous : result;
+    }
+
+    @Nullable
+    private static Object property(Object key, Supplier<Object> supplier) {
+        if (getApplicationContext() == null) return null;
+        return PROPERTIES_CACHE.computeIfAbsent(key, it -> Optional.ofNullable(supplier.get())).orElse(null);
     }
 
     public static <T> T putCache(T object) {
@@ -120,9 +189,90 @@ public class Beans implements ApplicationContextAware {
 
     public static ApplicationContext setAndGetContext(@Nullable ApplicationContext applicationContext) {
         if (applicationContext != null) {
+            if (applicationContext != Beans.applicationContext) {
+                clearProperties();
+            }
             Beans.applicationContext = applicationContext;
         }
         assert Beans.applicationContext != null;
         return Beans.applicationContext;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean supportsEventType(@NonNull Class<? extends ApplicationEvent> eventType) {
+        return ContextRefreshedEvent.class.isAssignableFrom(eventType) || ENVIRONMENT_CHANGE_EVENT.equals(eventType.getName());
+    }
+
+    @Override
+    public void onApplicationEvent(@NonNull ApplicationEvent event) {
+        clearProperties();
+    }
+
+    private static final class QualifiedKey {
+        private final Class<?> type;
+        private final String qualifier;
+
+        private QualifiedKey(Class<?> type, String qualifier) {
+            this.type = type;
+            this.qualifier = qualifier;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof QualifiedKey)) return false;
+            var that = (QualifiedKey) o;
+            return type.equals(that.type) && qualifier.equals(that.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return type.hashCode() * 31 + qualifier.hashCode();
+        }
+    }
+
+    private static final class PropertyKey {
+        private final String name;
+        private final Class<?> target;
+
+        private PropertyKey(String name, Class<?> target) {
+            this.name = name;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PropertyKey)) return false;
+            var that = (PropertyKey) o;
+            return name.equals(that.name) && target.equals(that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + target.hashCode();
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder loadSuccesses = new LongAdder();
+        private final LongAdder loadFailures = new LongAdder();
+        private final LongAdder loadTime = new LongAdder();
+
+        private void loaded(long start) {
+            loadSuccesses.increment();
+            loadTime.add(System.nanoTime() - start);
+        }
+
+        private void failed(long start) {
+            loadFailures.increment();
+            loadTime.add(System.nanoTime() - start);
+        }
+
+        private CacheStats stats() {
+            return new CacheStats(hits.sum(), misses.sum(), loadSuccesses.sum(), loadFailures.sum(), loadTime.sum(), 0);
+        }
+    }
+}
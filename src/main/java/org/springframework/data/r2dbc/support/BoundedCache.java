@@ -0,0 +1,377 @@
+package org.springframework.data.r2dbc.support;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Concurrent cache limited by the number of entries, a segmented LRU - new entries are admitted to the probation area
+ * and promoted to the protected area on the second hit, so a burst of one-off keys evicts only other one-off keys.
+ * Entries can optionally expire after a period without access. Null values are never cached.
+ * <p>
+ * Reads never lock: entries live in a {@link ConcurrentHashMap} and hits are recorded in lossy per-thread-striped
+ * buffers, which are replayed onto the lru order by whoever gets the eviction lock with a try-lock.
+ * Writes, removals and evictions take the eviction lock, loaders run outside of it.
+ *
+ * @author Lao Tsing
+ */
+public final class BoundedCache<K, V> {
+	private static final int READ_BUFFER_SIZE = 32;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+	private static final int MAX_READ_BUFFERS = 16;
+	private static final int REMOVED = 0;
+	private static final int PROBATION = 1;
+	private static final int PROTECTED = 2;
+
+	private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+	private final ReadBuffer[] readBuffers;
+	private final ReentrantLock evictionLock = new ReentrantLock();
+	private final AccessOrder<K, V> probation = new AccessOrder<>();
+	private final AccessOrder<K, V> protect = new AccessOrder<>();
+	private final int maximumSize;
+	private final int protectedCapacity;
+	private final long expireAfterAccessNanos;
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadSuccessCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+	private final LongAdder totalLoadTime = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	public BoundedCache(int maximumSize) {
+		this(maximumSize, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	public BoundedCache(int maximumSize, @Nullable Duration expireAfterAccess) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size must be positive");
+		}
+		if (expireAfterAccess != null && (expireAfterAccess.isNegative() || expireAfterAccess.isZero())) {
+			throw new IllegalArgumentException("Expiration must be positive");
+		}
+		this.maximumSize = maximumSize;
+		this.protectedCapacity = maximumSize * 4 / 5;
+		this.expireAfterAccessNanos = expireAfterAccess != null ? expireAfterAccess.toNanos() : 0;
+		int count = 1;
+		while (count < MAX_READ_BUFFERS && count < Runtime.getRuntime().availableProcessors()) {
+			count *= 2;
+		}
+		this.readBuffers = (ReadBuffer[]) new BoundedCache.ReadBuffer[count];
+		for (int i = 0; i < count; i++) {
+			readBuffers[i] = new ReadBuffer();
+		}
+	}
+
+	@Nullable
+	public V get(@NonNull K key) {
+		var value = find(key, now());
+		(value != null ? hitCount : missCount).increment();
+		return value;
+	}
+
+	public void put(@NonNull K key, @NonNull V value) {
+		store(key, value, now(), true);
+	}
+
+	@Nullable
+	public V computeIfAbsent(@NonNull K key, @NonNull Function<? super K, ? extends V> loader) {
+		var value = find(key, now());
+		if (value != null) {
+			hitCount.increment();
+			return value;
+		}
+		missCount.increment();
+		var start = System.nanoTime();
+		try {
+			value = loader.apply(key);
+		} catch (RuntimeException | Error e) {
+			loadFailureCount.increment();
+			totalLoadTime.add(System.nanoTime() - start);
+			throw e;
+		}
+		totalLoadTime.add(System.nanoTime() - start);
+		if (value == null) {
+			loadFailureCount.increment();
+			return null;
+		}
+		loadSuccessCount.increment();
+		return store(key, value, now(), false);
+	}
+
+	public void remove(@NonNull K key) {
+		evictionLock.lock();
+		try {
+			var node = data.get(key);
+			if (node != null) unlink(node);
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	public void clear() {
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			for (var node = probation.head; node != null; node = node.next) node.area = REMOVED;
+			for (var node = protect.head; node != null; node = node.next) node.area = REMOVED;
+			probation.reset();
+			protect.reset();
+			data.clear();
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes expired entries now instead of on their next access or eviction.
+	 */
+	public void cleanUp() {
+		if (expireAfterAccessNanos == 0) return;
+		var now = now();
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			expire(probation, now);
+			expire(protect, now);
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	public int size() {
+		return data.size();
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	@Nullable
+	public Duration getExpireAfterAccess() {
+		return expireAfterAccessNanos != 0 ? Duration.ofNanos(expireAfterAccessNanos) : null;
+	}
+
+	@NonNull
+	public CacheStats stats() {
+		return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+				totalLoadTime.sum(), evictionCount.sum());
+	}
+
+	private long now() {
+		return expireAfterAccessNanos != 0 ? System.nanoTime() : 0;
+	}
+
+	private boolean isExpired(Node<K, V> node, long now) {
+		return expireAfterAccessNanos != 0 && now - node.accessTime >= expireAfterAccessNanos;
+	}
+
+	@Nullable
+	private V find(K key, long now) {
+		var node = data.get(key);
+		if (node == null) return null;
+		if (isExpired(node, now)) {
+			if (evictionLock.tryLock()) {
+				try {
+					if (node.area != REMOVED && isExpired(node, now)) {
+						unlink(node);
+						evictionCount.increment();
+					}
+				} finally {
+					evictionLock.unlock();
+				}
+			}
+			return null;
+		}
+		if (expireAfterAccessNanos != 0) node.accessTime = now;
+		var buffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+		if (buffer.offer(node) >= DRAIN_THRESHOLD && evictionLock.tryLock()) {
+			try {
+				drainReadBuffers();
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+		return node.value;
+	}
+
+	private V store(K key, V value, long now, boolean replace) {
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			var node = data.get(key);
+			if (node != null) {
+				if (!isExpired(node, now)) {
+					if (replace) node.value = value;
+					node.accessTime = now;
+					return node.value;
+				}
+				unlink(node);
+				evictionCount.increment();
+			}
+			node = new Node<>(key, value, now);
+			data.put(key, node);
+			node.area = PROBATION;
+			probation.addLast(node);
+			while (probation.size + protect.size > maximumSize) {
+				unlink(probation.head != null ? probation.head : protect.head);
+				evictionCount.increment();
+			}
+			return value;
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Replays recorded hits onto the lru order, guarded by the eviction lock.
+	 */
+	private void drainReadBuffers() {
+		for (ReadBuffer buffer : readBuffers) {
+			long head = buffer.readCount;
+			long tail = buffer.writeCount.get();
+			for (; head < tail; head++) {
+				var index = (int) head & READ_BUFFER_MASK;
+				var node = buffer.nodes.get(index);
+				if (node == null) break;
+				buffer.nodes.lazySet(index, null);
+				onAccess(node);
+			}
+			buffer.readCount = head;
+		}
+	}
+
+	private void onAccess(Node<K, V> node) {
+		if (node.area == PROTECTED) {
+			protect.moveToLast(node);
+		} else if (node.area == PROBATION) {
+			if (protectedCapacity == 0) {
+				probation.moveToLast(node);
+				return;
+			}
+			probation.remove(node);
+			node.area = PROTECTED;
+			protect.addLast(node);
+			if (protect.size > protectedCapacity) {
+				var demoted = protect.head;
+				protect.remove(demoted);
+				demoted.area = PROBATION;
+				probation.addLast(demoted);
+			}
+		}
+	}
+
+	private void expire(AccessOrder<K, V> area, long now) {
+		for (var node = area.head; node != null; ) {
+			var next = node.next;
+			if (isExpired(node, now)) {
+				unlink(node);
+				evictionCount.increment();
+			}
+			node = next;
+		}
+	}
+
+	private void unlink(Node<K, V> node) {
+		data.remove(node.key, node);
+		if (node.area == PROTECTED) {
+			protect.remove(node);
+		} else if (node.area == PROBATION) {
+			probation.remove(node);
+		}
+		node.area = REMOVED;
+	}
+
+	private static final class Node<K, V> {
+		private final K key;
+		private volatile V value;
+		private volatile long accessTime;
+		// guarded by the eviction lock
+		private Node<K, V> prev;
+		private Node<K, V> next;
+		private int area;
+
+		private Node(K key, V value, long accessTime) {
+			this.key = key;
+			this.value = value;
+			this.accessTime = accessTime;
+		}
+	}
+
+	/**
+	 * Intrusive list of nodes from least to most recently used, guarded by the eviction lock.
+	 */
+	private static final class AccessOrder<K, V> {
+		private Node<K, V> head;
+		private Node<K, V> tail;
+		private int size;
+
+		private void addLast(Node<K, V> node) {
+			node.prev = tail;
+			node.next = null;
+			if (tail == null) {
+				head = node;
+			} else {
+				tail.next = node;
+			}
+			tail = node;
+			size++;
+		}
+
+		private void remove(Node<K, V> node) {
+			if (node.prev == null) {
+				head = node.next;
+			} else {
+				node.prev.next = node.next;
+			}
+			if (node.next == null) {
+				tail = node.prev;
+			} else {
+				node.next.prev = node.prev;
+			}
+			node.prev = null;
+			node.next = null;
+			size--;
+		}
+
+		private void moveToLast(Node<K, V> node) {
+			if (node != tail) {
+				remove(node);
+				addLast(node);
+			}
+		}
+
+		private void reset() {
+			head = null;
+			tail = null;
+			size = 0;
+		}
+	}
+
+	/**
+	 * Lossy ring of recorded hits: readers claim a slot with a cas, a full ring drops the hit.
+	 */
+	private final class ReadBuffer {
+		private final AtomicReferenceArray<Node<K, V>> nodes = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+		private final AtomicLong writeCount = new AtomicLong();
+		private volatile long readCount;
+
+		private long offer(Node<K, V> node) {
+			var tail = writeCount.get();
+			var pending = tail - readCount;
+			if (pending < READ_BUFFER_SIZE && writeCount.compareAndSet(tail, tail + 1)) {
+				nodes.lazySet((int) tail & READ_BUFFER_MASK, node);
+				pending++;
+			}
+			return pending;
+		}
+	}
+}
@@ -1,28 +1,18 @@
 package org.springframework.data.r2dbc.support;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.apache.commons.beanutils.ConvertUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.beans.factory.config.BeanDefinition;
-import org.springframework.cglib.reflect.FastClass;
 import org.springframework.cglib.reflect.FastMethod;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
-import org.springframework.data.r2dbc.expression.ExpressionParserCache;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ConcurrentReferenceHashMap;
-import org.springframework.util.StringUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.math.MathContext;
-import java.math.RoundingMode;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
@@ -44,7 +34,6 @@ public final class FastMethodInvoker {
 	private static final ConcurrentMap<Class<?>, List<Field>> reflectionStorage = new ConcurrentReferenceHashMap<>(256);
 	private static final ConcurrentMap<String, FastMethod> methodStorage = new ConcurrentReferenceHashMap<>(256);
 	private static final ConcurrentMap<String, Boolean> annotationStorage = new ConcurrentReferenceHashMap<>();
-	private static final String SET = "set", GET = "get", IS = "is", DOT = ".";
 
 	public static List<Field> reflectionStorage(Class<?> classKey) {
 		if (reflectionStorage.containsKey(classKey))
@@ -91,75 +80,15 @@ public final class FastMethodInvoker {
 	}
 
 	public static <T> T copy(@NonNull Object source, T target) {
-		for (Field targetField : reflectionStorage(target.getClass())) {
-			if (has(source, targetField.getName())) {
-				var sourceValue = getValue(source, targetField.getName());
-				var sourceField = getField(source.getClass(), targetField.getName());
-				assert sourceField != null;
-				if (sourceValue != null && !sourceField.getType().equals(targetField.getType())) {
-					if (sourceValue instanceof Enum) {
-						sourceValue = Enum.valueOf((Class<? extends Enum>) targetField.getType(), ((Enum) sourceValue).name());
-					} else {
-						try {
-							sourceValue = stringToObject(ConvertUtils.convert(sourceValue), targetField.getType());
-						} catch (Exception ignore) {
-						}
-					}
-				}
-				setValue(target, targetField.getName(), sourceValue);
-			}
-		}
-		return target;
+		return BeanCopier.of(source.getClass(), target.getClass()).copy(source, target, BeanCopier.Mode.ALL);
 	}
 
 	public static <T> T copyNotNull(@NonNull Object source, T target) {
-		for (Field targetField : reflectionStorage(target.getClass())) {
-			if (has(source, targetField.getName())) {
-				var sourceValue = getValue(source, targetField.getName());
-				if (sourceValue != null) {
-					if (sourceValue instanceof JsonNode && ((JsonNode) sourceValue).isNull()) continue;
-					var sourceField = getField(source.getClass(), targetField.getName());
-					assert sourceField != null;
-					if (!sourceField.getType().equals(targetField.getType())) {
-						if (sourceValue instanceof Enum) {
-							sourceValue = Enum.valueOf((Class<? extends Enum>) targetField.getType(), ((Enum) sourceValue).name());
-						} else {
-							try {
-								sourceValue = stringToObject(ConvertUtils.convert(sourceValue), targetField.getType());
-							} catch (Exception ignore) {
-							}
-						}
-					}
-					setValue(target, targetField.getName(), sourceValue);
-				}
-			}
-		}
-		return target;
+		return BeanCopier.of(source.getClass(), target.getClass()).copy(source, target, BeanCopier.Mode.NOT_NULL);
 	}
 
 	public static <T> T copyIsNull(@NonNull Object source, T target) {
-		for (Field targetField : reflectionStorage(target.getClass())) {
-			if (has(source, targetField.getName())) {
-				var targetValue = getValue(target, targetField.getName());
-				if (targetValue == null || (targetValue instanceof JsonNode && ((JsonNode) targetValue).isNull())) {
-					var sourceValue = getValue(source, targetField.getName());
-					var sourceField = getField(source.getClass(), targetField.getName());
-					assert sourceField != null;
-					if (sourceValue != null && !sourceField.getType().equals(targetField.getType())) {
-						if (sourceValue instanceof Enum) {
-							sourceValue = Enum.valueOf((Class<? extends Enum>) targetField.getType(), ((Enum) sourceValue).name());
-						} else {
-							try {
-								sourceValue = stringToObject(ConvertUtils.convert(sourceValue), targetField.getType());
-							} catch (Exception ignore) {
-							}
-						}
-					}
-					setValue(target, targetField.getName(), sourceValue);
-				}
-			}
-		}
-		return target;
+		return BeanCopier.of(source.getClass(), target.getClass()).copy(source, target, BeanCopier.Mode.IS_NULL);
 	}
 
 	@NonNull
@@ -177,53 +106,31 @@ public final class FastMethodInvoker {
 	}
 
 	public static void setValue(@NonNull Object any, @NonNull String name, @Nullable Object value) {
-		for (Field field : reflectionStorage(any.getClass())) {
-			if (field.getName().equals(name)) {
-				String methodName = SET + StringUtils.capitalize(name);
-				String fastMethodKey = any.getClass().getName() + DOT + methodName;
-				FastMethod fastMethod = getCacheMethod(fastMethodKey);
-				if (fastMethod == null) {
-					fastMethod = FastClass.create(any.getClass()).getMethod(methodName, new Class[]{field.getType()});
-					setCacheMethod(fastMethodKey, fastMethod);
-				}
-				try {
-					if (!field.getType().equals(String.class) && value instanceof String) {
-						value = stringToObject((String) value, field.getType());
-					}
-					fastMethod.invoke(any, new Object[]{value});
-				} catch (InvocationTargetException e) {
-					throw new RuntimeException(e);
-				}
-			}
+		var accessor = BeanAccessor.of(any.getClass());
+		var index = accessor.indexOf(name);
+		if (index >= 0) {
+			setValue(accessor, any, index, value);
 		}
 	}
 
 	public static void setMapValues(@NonNull Object any, @NonNull Map<String, ?> map) {
-		for (var name : map.keySet()) {
-			for (Field field : reflectionStorage(any.getClass())) {
-				if (field.getName().equals(name)) {
-					String methodName = SET + StringUtils.capitalize(name);
-					String fastMethodKey = any.getClass().getName() + DOT + methodName;
-					FastMethod fastMethod = getCacheMethod(fastMethodKey);
-					if (fastMethod == null) {
-						fastMethod = FastClass.create(any.getClass()).getMethod(methodName, new Class[]{field.getType()});
-						setCacheMethod(fastMethodKey, fastMethod);
-					}
-					try {
-						Object value;
-						if (!field.getType().equals(String.class) && map.get(name) instanceof String) {
-							value = stringToObject((String) map.get(name), field.getType());
-						} else
-							value = map.get(name);
-						fastMethod.invoke(any, new Object[]{value});
-					} catch (InvocationTargetException e) {
-						throw new RuntimeException(e);
-					}
-				}
+		var accessor = BeanAccessor.of(any.getClass());
+		for (var entry : map.entrySet()) {
+			var index = accessor.indexOf(entry.getKey());
+			if (index >= 0) {
+				setValue(accessor, any, index, entry.getValue());
 			}
 		}
 	}
 
+	static void setValue(@NonNull BeanAccessor accessor, @NonNull Object any, int index, @Nullable Object value) {
+		var type = accessor.getType(index);
+		if (!type.equals(String.class) && value instanceof String) {
+			value = stringToObject((String) value, type);
+		}
+		accessor.set(any, index, value);
+	}
+
 	@Nullable
 	public static <T> T getValue(@NonNull Object any, @NonNull String name, final Class<T> cls) {
 		return (T) getValue(any, name);
@@ -231,70 +138,13 @@ public final class FastMethodInvoker {
 
 	@Nullable
 	public static Object getValue(@NonNull Object any, @NonNull String name) {
-		for (Field field : reflectionStorage(any.getClass())) {
-			if (field.getName().equals(name) && !isStatic(field.getModifiers())) {
-				for (String prefix : Arrays.asList(GET, IS)) {
-					String methodName = prefix + StringUtils.capitalize(field.getName());
-					String fastMethodKey = any.getClass().getName() + DOT + methodName;
-					FastMethod fastMethod = getCacheMethod(fastMethodKey);
-					if (fastMethod == null) {
-						try {
-							fastMethod = FastClass.create(any.getClass()).getMethod(methodName, null);
-						} catch (NoSuchMethodError e) {
-							continue;
-						}
-					}
-					setCacheMethod(fastMethodKey, fastMethod);
-					try {
-						return fastMethod.invoke(any, null);
-					} catch (InvocationTargetException ignored) {
-					}
-				}
-			}
-		}
-		return null;
+		var accessor = BeanAccessor.of(any.getClass());
+		var index = accessor.indexOf(name);
+		return index >= 0 ? accessor.get(any, index) : null;
 	}
 
 	public static Object stringToObject(final String object, final Class<?> cls) {
-		if (object != null) {
-			if (cls.equals(String.class)) return object;
-			if (object.matches(NUMBER_REGEX) || object.matches(DOUBLE_REGEX) || object.matches(BOOLEAN_REGEX)) {
-				return ConvertUtils.convert(object, cls);
-			}
-			switch (cls.getSimpleName()) {
-				case "UUID":
-					if (object.matches(UUID_REGEX))
-						return UUID.fromString(object);
-					else
-						return null;
-				case "Expression":
-					return ExpressionParserCache.INSTANCE.parseExpression(object);
-				case "BigInteger":
-					if (object.matches(NUMBER_REGEX))
-						return BigInteger.valueOf(Long.parseLong(object));
-					else
-						return null;
-				case "BigDecimal":
-					if (object.matches(DOUBLE_REGEX) || object.matches(NUMBER_REGEX))
-						return new BigDecimal(Double.parseDouble(object), new MathContext(4, RoundingMode.HALF_EVEN));
-					else
-						return null;
-				case "byte[]":
-					return object.getBytes(StandardCharsets.UTF_8);
-				default:
-					try {
-						String fastMethodKey = cls.getName() + ".parse";
-						FastMethod fastMethod = getCacheMethod(fastMethodKey);
-						if (fastMethod == null) {
-							fastMethod = FastClass.create(cls).getMethod("parse", new Class[]{CharSequence.class});
-							setCacheMethod(fastMethodKey, fastMethod);
-						}
-						return fastMethod.invoke(null, new Object[]{object});
-					} catch (Exception ignore) {
-					}
-			}
-		}
-		return null;
+		return StringConverters.convert(object, cls);
 	}
 
 	@NonNull
@@ -0,0 +1,82 @@
+package org.springframework.data.r2dbc.support;
+
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypedValue;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Spel property accessor over the cached bean property table, so properties are read and written
+ * through pre-bound fast methods instead of reflection lookups. Maps, jdk classes and classes the fast methods
+ * can not be generated for are left to the next accessor, the failed generation is remembered per class.
+ * An exception thrown by a getter is raised as an {@link AccessException}.
+ *
+ * @author Lao Tsing
+ */
+public final class FastPropertyAccessor implements PropertyAccessor {
+	public static final FastPropertyAccessor INSTANCE = new FastPropertyAccessor();
+	private static final ClassValue<Optional<BeanAccessor>> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected Optional<BeanAccessor> computeValue(@NonNull Class<?> type) {
+			if (type.getClassLoader() == null || type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+				return Optional.empty();
+			}
+			try {
+				return Optional.of(BeanAccessor.of(type));
+			} catch (RuntimeException | LinkageError e) {
+				return Optional.empty();
+			}
+		}
+	};
+
+	@Nullable
+	@Override
+	public Class<?>[] getSpecificTargetClasses() {
+		return null;
+	}
+
+	@Override
+	public boolean canRead(@NonNull EvaluationContext context, @Nullable Object target, @NonNull String name) {
+		var accessor = accessorOf(target);
+		if (accessor == null) return false;
+		var index = accessor.indexOf(name);
+		return index >= 0 && accessor.isReadable(index);
+	}
+
+	@NonNull
+	@Override
+	public TypedValue read(@NonNull EvaluationContext context, @Nullable Object target, @NonNull String name) throws AccessException {
+		var accessor = BeanAccessor.of(target.getClass());
+		try {
+			return new TypedValue(accessor.read(target, accessor.indexOf(name)));
+		} catch (InvocationTargetException e) {
+			throw new AccessException("Unable to read property '" + name + "' of " + target.getClass().getName(), e);
+		}
+	}
+
+	@Override
+	public boolean canWrite(@NonNull EvaluationContext context, @Nullable Object target, @NonNull String name) {
+		var accessor = accessorOf(target);
+		if (accessor == null) return false;
+		var index = accessor.indexOf(name);
+		return index >= 0 && accessor.isWritable(index);
+	}
+
+	@Override
+	public void write(@NonNull EvaluationContext context, @Nullable Object target, @NonNull String name, @Nullable Object newValue) {
+		var accessor = BeanAccessor.of(target.getClass());
+		FastMethodInvoker.setValue(accessor, target, accessor.indexOf(name), newValue);
+	}
+
+	@Nullable
+	private static BeanAccessor accessorOf(@Nullable Object target) {
+		if (target == null || target instanceof Class || target instanceof Map) return null;
+		return ACCESSORS.get(target.getClass()).orElse(null);
+	}
+}
@@ -0,0 +1,105 @@
+package org.springframework.data.r2dbc.support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Incremental decoder of a json array (or a sequence of root values) fed by chunks of bytes:
+ * tokens of the element being read are kept in a token buffer, so memory is bounded by the largest element.
+ *
+ * @author Lao Tsing
+ */
+final class JsonArrayDecoder<T> {
+    private final ObjectReader reader;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private TokenBuffer element;
+    private int elementDepth;
+    private int depth;
+
+    JsonArrayDecoder(@NonNull ObjectReader reader) {
+        this.reader = reader;
+        try {
+            this.parser = JsonUtils.getMapper().getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @NonNull
+    List<T> decode(@NonNull DataBuffer buffer) {
+        var bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            return drain();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @NonNull
+    List<T> endOfInput() {
+        feeder.endOfInput();
+        try {
+            var result = drain();
+            if (element != null || depth > 0) {
+                throw new IllegalStateException("Unexpected end of json input");
+            }
+            return result;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    void close() {
+        try {
+            parser.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    private List<T> drain() throws IOException {
+        List<T> result = Collections.emptyList();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (element == null) {
+                if (depth == 0 && token == JsonToken.START_ARRAY) {
+                    depth = 1;
+                    continue;
+                }
+                if (depth == 1 && token == JsonToken.END_ARRAY) {
+                    depth = 0;
+                    continue;
+                }
+                element = new TokenBuffer(parser);
+                elementDepth = depth;
+            }
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == elementDepth) {
+                if (result.isEmpty()) result = new ArrayList<>();
+                result.add(reader.readValue(element.asParser(JsonUtils.getMapper())));
+                element = null;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package org.springframework.data.r2dbc.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lazy read-only map over an object node: values are converted only when they are read.
+ *
+ * @author Lao Tsing
+ */
+final class JsonMapView extends AbstractMap<String, Object> {
+    private final JsonNode json;
+
+    JsonMapView(@NonNull JsonNode json) {
+        this.json = json;
+    }
+
+    @Nullable
+    static Object valueOf(@NonNull JsonNode json) {
+        if (json.isObject()) return new JsonMapView(json);
+        if (json.isArray()) return new ListView(json);
+        return JsonUtils.scalarToObject(json);
+    }
+
+    @Override
+    public int size() {
+        return json.isObject() ? json.size() : 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && json.isObject() && json.has((String) key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String) || !json.isObject()) return null;
+        var node = json.get((String) key);
+        return node != null ? valueOf(node) : null;
+    }
+
+    @NonNull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @NonNull
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                var fields = json.fields();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return fields.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        var field = fields.next();
+                        return new SimpleImmutableEntry<>(field.getKey(), valueOf(field.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return JsonMapView.this.size();
+            }
+        };
+    }
+
+    private static final class ListView extends AbstractList<Object> {
+        private final JsonNode json;
+
+        private ListView(JsonNode json) {
+            this.json = json;
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= json.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + json.size());
+            }
+            return valueOf(json.get(index));
+        }
+
+        @Override
+        public int size() {
+            return json.size();
+        }
+    }
+}
@@ -3,29 +3,46 @@ package org.springframework.data.r2dbc.support;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.ZonedDateTimeSerializer;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import org.apache.commons.lang3.ObjectUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.data.r2dbc.expression.ExpressionDeserializer;
 import org.springframework.data.r2dbc.expression.ExpressionSerializer;
 import org.springframework.expression.Expression;
 import org.springframework.lang.NonNull;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Utilities for json interaction.
@@ -34,6 +51,10 @@ import java.util.Map;
  */
 public abstract class JsonUtils {
     private static final ObjectMapper OBJECT_MAPPER;
+    /**
+     * Readers of the current mapper configuration, replaced as a whole when the mapper is reconfigured.
+     */
+    private static volatile Readers readers;
 
     static {
         var javaTimeModule = new JavaTimeModule();
@@ -56,26 +77,45 @@ public abstract class JsonUtils {
                 .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
                 .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
                 .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
+        readers = new Readers(OBJECT_MAPPER);
     }
 
     public static ObjectMapper getMapper() {
         return OBJECT_MAPPER;
     }
 
+    /**
+     * Reader of the class, bound to the mapper configuration: registering a module or changing a deserialization
+     * feature replaces the configuration of the mapper, so the cached readers are dropped on the next read.
+     * Deserializers already built for a class are kept by the mapper itself, modules replacing them
+     * must be registered before the first read.
+     */
+    private static ObjectReader reader(final Class<?> cls) {
+        var current = readers;
+        if (!current.isCurrent(getMapper())) {
+            current = new Readers(getMapper());
+            readers = current;
+        }
+        return current.get(cls);
+    }
+
     public static JsonNode mapToJson(final Map<String, Object> map) {
         return getMapper().valueToTree(map);
     }
 
     @NonNull
     public static Map<String, ?> jsonToMap(@NonNull final JsonNode json) {
-        var map = new LinkedHashMap<String, Object>();
-        var fieldNames = json.fieldNames();
-        while (fieldNames.hasNext()) {
-            var fieldName = fieldNames.next();
-            var jsonNode = json.get(fieldName);
-            map.put(fieldName, nodeToObject(jsonNode));
-        }
-        return map;
+        if (!json.isObject()) return new LinkedHashMap<>();
+        return (Map<String, ?>) containerToObject(json);
+    }
+
+    /**
+     * Read-only map backed by the node: children are converted on access, nested objects and arrays
+     * are returned as views as well. Changes of the node are visible through the view.
+     */
+    @NonNull
+    public static Map<String, ?> jsonToMapView(@NonNull final JsonNode json) {
+        return new JsonMapView(json);
     }
 
     public static JsonNode copy(@NonNull final JsonNode target, final JsonNode... sources) {
@@ -98,14 +138,11 @@ public abstract class JsonUtils {
     }
 
     public static Object nodeToObject(@NonNull final JsonNode json) {
-        var type = json.getNodeType();
-        switch (type) {
-            case ARRAY:
-                var array = new ArrayList<>();
-                for (JsonNode node : json) {
-                    array.add(nodeToObject(node));
-                }
-                return array;
+        return json.isContainerNode() ? containerToObject(json) : scalarToObject(json);
+    }
+
+    static Object scalarToObject(@NonNull final JsonNode json) {
+        switch (json.getNodeType()) {
             case BINARY:
                 try {
                     return json.binaryValue();
@@ -118,15 +155,78 @@ public abstract class JsonUtils {
                 return null;
             case NUMBER:
                 return json.numberValue();
-            case OBJECT:
             case POJO:
-                return jsonToMap(json);
+                return new LinkedHashMap<String, Object>();
             case STRING:
             default:
                 return json.textValue();
         }
     }
 
+    /**
+     * Converts the tree with an explicit stack, so the depth of a document is not limited by the thread stack.
+     */
+    private static Object containerToObject(final JsonNode json) {
+        var root = newContainer(json);
+        var stack = new ArrayDeque<Level>();
+        stack.push(new Level(json, root));
+        while (!stack.isEmpty()) {
+            var level = stack.peek();
+            if (level.fields != null ? !level.fields.hasNext() : !level.elements.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            String key = null;
+            JsonNode node;
+            if (level.fields != null) {
+                var field = level.fields.next();
+                key = field.getKey();
+                node = field.getValue();
+            } else {
+                node = level.elements.next();
+            }
+            Object value;
+            if (node.isContainerNode()) {
+                value = newContainer(node);
+                stack.push(new Level(node, value));
+            } else {
+                value = scalarToObject(node);
+            }
+            if (key != null) {
+                level.map.put(key, value);
+            } else {
+                level.list.add(value);
+            }
+        }
+        return root;
+    }
+
+    private static Object newContainer(final JsonNode json) {
+        int size = json.size();
+        return json.isObject() ? new LinkedHashMap<String, Object>(size * 4 / 3 + 1) : new ArrayList<>(size);
+    }
+
+    private static final class Level {
+        private final Iterator<Map.Entry<String, JsonNode>> fields;
+        private final Iterator<JsonNode> elements;
+        private final Map<String, Object> map;
+        private final List<Object> list;
+
+        private Level(JsonNode json, Object container) {
+            if (json.isObject()) {
+                this.fields = json.fields();
+                this.elements = null;
+                this.map = (Map<String, Object>) container;
+                this.list = null;
+            } else {
+                this.fields = null;
+                this.elements = json.elements();
+                this.map = null;
+                this.list = (List<Object>) container;
+            }
+        }
+    }
+
     public static JsonNode objectToJson(final String string) {
         try {
             return getMapper().readTree(string);
@@ -158,7 +258,13 @@ public abstract class JsonUtils {
     }
 
     public static <T> T jsonToObject(final JsonNode json, final Class<T> cls) {
-        return getMapper().convertValue(json, cls);
+        if (json == null) return null;
+        if (cls != Object.class && cls.isInstance(json)) return (T) json;
+        try {
+            return reader(cls).readValue(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
     }
 
     public static <T> T stringToObject(final String json, final Class<T> cls) {
@@ -169,25 +275,127 @@ public abstract class JsonUtils {
         }
     }
 
+    /**
+     * Binds every element of the array (or a single object) straight into a new instance of the class
+     * through its setters, without an intermediate map per element.
+     */
     @NonNull
     public static <T> ArrayList<T> jsonToObjectList(@NonNull final JsonNode json, final Class<T> cls) {
-        var list = new ArrayList<T>();
-        if (!json.isEmpty()) {
-            var maps = JsonUtils.jsonToObject(json, ArrayList.class);
-            for (Object map : maps) {
-                try {
-                    var constructor = cls.getConstructor();
-                    var obj = constructor.newInstance();
-                    FastMethodInvoker.setMapValues(obj, (Map<String, Object>) map);
-                    list.add(obj);
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            }
+        if (json.isEmpty()) return new ArrayList<>();
+        var accessor = BeanAccessor.of(cls);
+        if (!json.isArray()) {
+            var list = new ArrayList<T>(1);
+            list.add(bind(accessor, json, cls));
+            return list;
+        }
+        var list = new ArrayList<T>(json.size());
+        for (JsonNode node : json) {
+            list.add(bind(accessor, node, cls));
         }
         return list;
     }
 
+    private static <T> T bind(final BeanAccessor accessor, final JsonNode json, final Class<T> cls) {
+        if (!json.isObject()) {
+            throw new IllegalArgumentException("Cannot bind " + json.getNodeType() + " to " + cls.getName());
+        }
+        var obj = accessor.newInstance();
+        var fields = json.fields();
+        while (fields.hasNext()) {
+            var field = fields.next();
+            var index = accessor.indexOf(field.getKey());
+            if (index >= 0) {
+                FastMethodInvoker.setValue(accessor, obj, index, nodeValue(field.getValue(), accessor.getType(index)));
+            }
+        }
+        return (T) obj;
+    }
+
+    private static Object nodeValue(final JsonNode json, final Class<?> type) {
+        if (type != Object.class && type.isInstance(json)) return json;
+        if (json.isNumber()) {
+            var target = ClassUtils.resolvePrimitiveIfNecessary(type);
+            if (target == Long.class && json.canConvertToLong()) return json.longValue();
+            if (target == Double.class) return json.doubleValue();
+            if (target == BigDecimal.class) return json.decimalValue();
+            if (target == BigInteger.class && json.isIntegralNumber()) return json.bigIntegerValue();
+        }
+        return nodeToObject(json);
+    }
+
+    /**
+     * Blocking iterator over the elements of a json array (or a sequence of root values) in the stream,
+     * the stream is closed when the iterator is exhausted or closed.
+     */
+    @NonNull
+    public static <T> MappingIterator<T> iterateArray(@NonNull final InputStream input, final Class<T> cls) {
+        try {
+            return reader(cls).readValues(input);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @NonNull
+    public static <T> MappingIterator<T> iterateArray(@NonNull final ByteBuffer buffer, final Class<T> cls) {
+        try {
+            if (buffer.hasArray()) {
+                return reader(cls).readValues(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            return reader(cls).readValues(new ByteBufferBackedInputStream(buffer.duplicate()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Elements of the json array are read on demand, so the stream is never materialized as a whole.
+     * Reading blocks the subscribing thread.
+     */
+    @NonNull
+    public static <T> Flux<T> readArray(@NonNull final InputStream input, final Class<T> cls) {
+        return fromIterator(() -> iterateArray(input, cls));
+    }
+
+    @NonNull
+    public static <T> Flux<T> readArray(@NonNull final ByteBuffer buffer, final Class<T> cls) {
+        return fromIterator(() -> iterateArray(buffer, cls));
+    }
+
+    /**
+     * Non-blocking variant: buffers are parsed as they arrive and released right away,
+     * only the tokens of the element being read are retained.
+     */
+    @NonNull
+    public static <T> Flux<T> readArray(@NonNull final Flux<DataBuffer> buffers, final Class<T> cls) {
+        return Flux.using(
+                () -> new JsonArrayDecoder<T>(reader(cls)),
+                decoder -> buffers.concatMapIterable(decoder::decode, 1)
+                        .concatWith(Flux.defer(() -> Flux.fromIterable(decoder.endOfInput()))),
+                JsonArrayDecoder::close
+        ).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static <T> Flux<T> fromIterator(final Callable<MappingIterator<T>> iterator) {
+        return Flux.generate(iterator, (it, sink) -> {
+            try {
+                if (it.hasNextValue()) {
+                    sink.next(it.nextValue());
+                } else {
+                    sink.complete();
+                }
+            } catch (IOException e) {
+                sink.error(e);
+            }
+            return it;
+        }, it -> {
+            try {
+                it.close();
+            } catch (IOException ignore) {
+            }
+        });
+    }
+
     public static ObjectNode objectNode() {
         return getMapper().createObjectNode();
     }
@@ -199,4 +407,26 @@ public abstract class JsonUtils {
     public static boolean isEmpty(final JsonNode json) {
         return json == null || json.isNull() || json.isEmpty();
     }
+
+    private static final class Readers extends ClassValue<ObjectReader> {
+        private final ObjectMapper mapper;
+        private final DeserializationConfig config;
+        private final DeserializationContext context;
+
+        private Readers(ObjectMapper mapper) {
+            this.mapper = mapper;
+            this.config = mapper.getDeserializationConfig();
+            this.context = mapper.getDeserializationContext();
+        }
+
+        private boolean isCurrent(ObjectMapper mapper) {
+            return this.mapper == mapper && config == mapper.getDeserializationConfig()
+                    && context == mapper.getDeserializationContext();
+        }
+
+        @Override
+        protected ObjectReader computeValue(@NonNull Class<?> type) {
+            return mapper.readerFor(type);
+        }
+    }
 }
@@ -3,8 +3,16 @@ package org.springframework.data.r2dbc.support
 import org.sevenparadigms.kotlin.common.remove
 import org.springframework.util.ObjectUtils
 import java.net.URLDecoder
-import java.util.regex.Pattern
+import java.util.concurrent.atomic.LongAdder
 
+/**
+ * Detects a chained sql command: `;` or `UNION`, a whitespace, a command keyword and then a quoted text,
+ * ` * `, `(` with a whitespace and a quote, or a mnemonic keyword. Keywords are case-insensitive and a match
+ * may span at most the line breaks adjacent to the whitespaces of the command.
+ *
+ * The check is a single scan with keyword tries, linear in the length of the query. Queries without a separator
+ * are accepted by a pre-filter without decoding, verdicts of other short queries are cached.
+ */
 object SQLInjectionSafe {
     private val mnemonic = """TABLE|TABLESPACE|PROCEDURE|FUNCTION|TRIGGER|VIEW|LIBRARY|REFERENCES|FROM|
             SELECT|INSERT|UPDATE|DELETE|TRUNCATE|USAGE|DATABASE|INDEX|CONSTRAINT|TRIGGER|SET|
@@ -12,19 +20,27 @@ object SQLInjectionSafe {
             PACKAGE|BODY|OPERATOR|CASCADE|SEQUENCE|RESTORE|POINT|FILE|CLASS|CURSOR|OBJECT|
             RULE|DATASET|STORE|COLUMN|FIELD|HTTP|NULL|SLEEP|VERSION|PRIVILEGES|PROGRAM""".remove("[\\r\\n]")
 
-    private val command = Pattern.compile(
-        "(.*)(;|UNION)([\\s\\r\\n])(COPY|DBLINK|GRANT|LOCK|TRUNCATE|WITH|ALTER|" +
-                "CREATE|DELETE|DROP|EXEC(UTE)?|INSERT|UPSERT|MERGE|SELECT|JOIN|UPDATE)(.*)('(.*)'|" +
-                " \\* |\\(([\\s\\r\\n])'|${mnemonic})(.*)", Pattern.CASE_INSENSITIVE or Pattern.UNICODE_CASE
+    private val separators = Trie(listOf("UNION"))
+
+    private val commands = Trie(
+        listOf(
+            "COPY", "DBLINK", "GRANT", "LOCK", "TRUNCATE", "WITH", "ALTER", "CREATE", "DELETE", "DROP", "EXEC",
+            "EXECUTE", "INSERT", "UPSERT", "MERGE", "SELECT", "JOIN", "UPDATE"
+        )
     )
 
+    private val mnemonics = Trie(mnemonic.split('|'))
+
+    private const val MAX_CACHED_LENGTH = 256
+
+    private val verdicts = BoundedCache<String, Boolean>(4096)
+    private val prefiltered = LongAdder()
+    private val scanned = LongAdder()
+
     @JvmStatic
     fun throwElse(query: String): Boolean {
-        if (!ObjectUtils.isEmpty(query)) {
-            val cleanQuery = URLDecoder.decode(query, Charsets.UTF_8)
-            if (command.matcher(cleanQuery).matches()) {
-                throw RuntimeException("SQL Injection Detected")
-            }
+        if (!isSafe(query)) {
+            throw RuntimeException("SQL Injection Detected")
         }
         return true
     }
@@ -34,4 +50,204 @@ object SQLInjectionSafe {
         throwElse(query)
         return query
     }
-}
\ No newline at end of file
+
+    @JvmStatic
+    fun isSafe(query: String): Boolean {
+        if (ObjectUtils.isEmpty(query)) return true
+        if (isPlain(query)) {
+            prefiltered.increment()
+            return true
+        }
+        if (query.length > MAX_CACHED_LENGTH) return scan(query)
+        return verdicts.computeIfAbsent(query, ::scan)!!
+    }
+
+    /**
+     * Number of queries accepted by the pre-filter.
+     */
+    @JvmStatic
+    fun getPrefilteredCount(): Long = prefiltered.sum()
+
+    /**
+     * Number of queries decoded and scanned, the rest was answered by the pre-filter or the verdict cache.
+     */
+    @JvmStatic
+    fun getScannedCount(): Long = scanned.sum()
+
+    @JvmStatic
+    fun getCacheStats(): CacheStats = verdicts.stats()
+
+    private fun scan(query: String): Boolean {
+        scanned.increment()
+        return !isInjection(URLDecoder.decode(query, Charsets.UTF_8))
+    }
+
+    /**
+     * Without an escape the decoded query differs only by `+` turned into a space, so a query
+     * without `;` and without a whitespace or `UNION` cannot contain a separator followed by a whitespace.
+     */
+    private fun isPlain(query: String): Boolean {
+        var whitespace = false
+        for (c in query) {
+            if (c == ';' || c == '%') return false
+            if (c == '+' || isSpace(c)) whitespace = true
+        }
+        if (!whitespace) return true
+        for (i in query.indices) {
+            if (separators.matches(query, i) != 0) return false
+        }
+        return true
+    }
+
+    private fun isInjection(text: String): Boolean {
+        val length = text.length
+        // the text before the separator must be a single line
+        val firstBreak = nextBreak(text, 0)
+        var tail: Tail? = null
+        for (start in 0 until firstBreak) {
+            val separatorEnd = when {
+                text[start] == ';' -> start + 1
+                separators.matches(text, start) != 0 -> start + 5
+                else -> continue
+            }
+            if (separatorEnd >= length || !isSpace(text[separatorEnd])) continue
+            var lengths = commands.matches(text, separatorEnd + 1)
+            while (lengths != 0) {
+                val commandLength = Integer.numberOfTrailingZeros(lengths)
+                lengths = lengths and (lengths - 1)
+                if (tail == null) tail = Tail(text)
+                if (tail.matches(separatorEnd + 1 + commandLength)) return true
+            }
+        }
+        return false
+    }
+
+    /**
+     * Positions of the last occurrences of every terminal part, so the remainder after a command
+     * is accepted or rejected in constant time.
+     */
+    private class Tail(private val text: String) {
+        private val length = text.length
+        private val nextBreaks = IntArray(length + 1)
+        private val lastBreak: Int
+        private val secondLastQuote: Int
+        private val lastStar: Int
+        private val lastParenthesis: Int
+        private val lastMnemonic: Int
+
+        init {
+            nextBreaks[length] = length
+            var lastBreak = -1
+            var lastQuote = -1
+            var secondLastQuote = -1
+            var lastStar = -1
+            var lastParenthesis = -1
+            for (i in length - 1 downTo 0) {
+                val c = text[i]
+                nextBreaks[i] = if (isBreak(c)) i else nextBreaks[i + 1]
+                if (lastBreak < 0 && isBreak(c)) lastBreak = i
+                if (c == '\'') {
+                    if (lastQuote < 0) lastQuote = i else if (secondLastQuote < 0) secondLastQuote = i
+                }
+                if (lastStar < 0 && c == ' ' && i + 2 < length && text[i + 1] == '*' && text[i + 2] == ' ') lastStar = i
+                if (lastParenthesis < 0 && isParenthesis(i)) lastParenthesis = i
+            }
+            var lastMnemonic = -1
+            for (i in length - 1 downTo 0) {
+                if (mnemonics.matches(text, i) != 0) {
+                    lastMnemonic = i
+                    break
+                }
+            }
+            this.lastBreak = lastBreak
+            this.secondLastQuote = secondLastQuote
+            this.lastStar = lastStar
+            this.lastParenthesis = lastParenthesis
+            this.lastMnemonic = lastMnemonic
+        }
+
+        fun matches(commandEnd: Int): Boolean {
+            val nextBreak = nextBreaks[commandEnd]
+            if (nextBreak == length) {
+                return secondLastQuote >= commandEnd || lastStar >= commandEnd ||
+                        lastParenthesis >= commandEnd || lastMnemonic >= commandEnd
+            }
+            // only the whitespace between a parenthesis and a quote may be a line break
+            return nextBreak == lastBreak && nextBreak - 1 >= commandEnd && isParenthesis(nextBreak - 1)
+        }
+
+        private fun isParenthesis(i: Int): Boolean =
+            i + 2 < length && text[i] == '(' && isSpace(text[i + 1]) && text[i + 2] == '\''
+    }
+
+    /**
+     * Case-insensitive keyword trie over latin letters and space.
+     */
+    private class Trie(words: List<String>) {
+        private val children: Array<IntArray>
+        private val terminals: BooleanArray
+
+        init {
+            val nodes = arrayListOf(IntArray(ALPHABET))
+            val ends = HashSet<Int>()
+            for (word in words) {
+                var node = 0
+                for (c in word) {
+                    val index = indexOf(c)
+                    require(index >= 0) { "Unsupported keyword $word" }
+                    if (nodes[node][index] == 0) {
+                        nodes[node][index] = nodes.size
+                        nodes.add(IntArray(ALPHABET))
+                    }
+                    node = nodes[node][index]
+                }
+                ends.add(node)
+            }
+            children = nodes.toTypedArray()
+            terminals = BooleanArray(nodes.size) { it in ends }
+        }
+
+        /**
+         * Bit mask of the lengths of all keywords found at the position.
+         */
+        fun matches(text: String, start: Int): Int {
+            var result = 0
+            var node = 0
+            var i = start
+            while (i < text.length) {
+                val index = indexOf(text[i])
+                if (index < 0) break
+                node = children[node][index]
+                if (node == 0) break
+                i++
+                if (terminals[node]) result = result or (1 shl (i - start))
+            }
+            return result
+        }
+    }
+
+    private const val ALPHABET = 27
+
+    private fun indexOf(c: Char): Int {
+        val folded = if (c < '\u0080') c else Character.toLowerCase(Character.toUpperCase(c))
+        return when (folded) {
+            in 'a'..'z' -> folded - 'a'
+            in 'A'..'Z' -> folded - 'A'
+            ' ' -> 26
+            else -> -1
+        }
+    }
+
+    private fun nextBreak(text: String, from: Int): Int {
+        for (i in from until text.length) {
+            if (isBreak(text[i])) return i
+        }
+        return text.length
+    }
+
+    private fun isBreak(c: Char): Boolean =
+        c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029'
+
+    private fun isSpace(c: Char): Boolean =
+        c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\u000C' || c == '\r'
+}
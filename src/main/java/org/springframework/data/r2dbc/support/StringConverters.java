@@ -0,0 +1,187 @@
+package org.springframework.data.r2dbc.support;
+
+import org.apache.commons.beanutils.ConvertUtils;
+import org.springframework.cglib.reflect.FastClass;
+import org.springframework.cglib.reflect.FastMethod;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.r2dbc.expression.ExpressionParserCache;
+import org.springframework.expression.Expression;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of string converters keyed by target class. The converter of a class is selected once,
+ * parsing is done without regular expressions and invalid input is converted to null.
+ * Decimals are converted exactly, booleans accept {@code true}, {@code false}, {@code 1} and {@code 0},
+ * targets assignable from {@link String} such as {@link Object} and {@link CharSequence} receive the source itself.
+ *
+ * @author Lao Tsing
+ */
+public final class StringConverters {
+	private static final Map<Class<?>, Converter<String, ?>> CUSTOM = new ConcurrentHashMap<>();
+	private static final ClassValue<Converter<String, ?>> CONVERTERS = new ClassValue<>() {
+		@Override
+		protected Converter<String, ?> computeValue(@NonNull Class<?> type) {
+			var custom = CUSTOM.get(type);
+			return custom != null ? custom : create(type);
+		}
+	};
+	private static final Converter<String, ?> NULL = source -> null;
+
+	private StringConverters() {
+	}
+
+	@NonNull
+	public static Converter<String, ?> of(@NonNull Class<?> type) {
+		return CONVERTERS.get(type);
+	}
+
+	public static <T> void register(@NonNull Class<T> type, @NonNull Converter<String, ? extends T> converter) {
+		CUSTOM.put(type, converter);
+		CONVERTERS.remove(type);
+	}
+
+	@Nullable
+	public static Object convert(@Nullable String source, @NonNull Class<?> type) {
+		return source != null ? of(type).convert(source) : null;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Converter<String, ?> create(Class<?> type) {
+		if (type.isAssignableFrom(String.class)) return source -> source;
+		if (type == Long.class || type == long.class) return source -> isInteger(source) ? parseLong(source) : null;
+		if (type == Integer.class || type == int.class) return source -> {
+			var value = isInteger(source) ? parseLong(source) : null;
+			return value != null && value == value.intValue() ? value.intValue() : null;
+		};
+		if (type == Short.class || type == short.class) return source -> {
+			var value = isInteger(source) ? parseLong(source) : null;
+			return value != null && value == value.shortValue() ? value.shortValue() : null;
+		};
+		if (type == Byte.class || type == byte.class) return source -> {
+			var value = isInteger(source) ? parseLong(source) : null;
+			return value != null && value == value.byteValue() ? value.byteValue() : null;
+		};
+		if (type == Double.class || type == double.class) return source -> isDecimal(source) ? Double.parseDouble(source) : null;
+		if (type == Float.class || type == float.class) return source -> isDecimal(source) ? Float.parseFloat(source) : null;
+		if (type == Boolean.class || type == boolean.class) return StringConverters::parseBoolean;
+		if (type == Character.class || type == char.class) return source -> source.length() == 1 ? source.charAt(0) : null;
+		if (type == BigInteger.class) return source -> isInteger(source) ? new BigInteger(source) : null;
+		if (type == BigDecimal.class) return source -> isDecimal(source) ? new BigDecimal(source) : null;
+		if (type == UUID.class) return StringConverters::parseUuid;
+		if (type == byte[].class) return source -> source.getBytes(StandardCharsets.UTF_8);
+		if (type == Expression.class) return ExpressionParserCache.INSTANCE::parseExpression;
+		if (type.isEnum()) return source -> {
+			try {
+				return Enum.valueOf((Class<? extends Enum>) type, source);
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+		};
+		var parse = parseMethod(type);
+		if (parse != null) return source -> {
+			try {
+				return parse.invoke(null, new Object[]{source});
+			} catch (Exception e) {
+				return null;
+			}
+		};
+		var converter = ConvertUtils.lookup(type);
+		if (converter != null) return source -> {
+			try {
+				return converter.convert(type, source);
+			} catch (Exception e) {
+				return null;
+			}
+		};
+		return NULL;
+	}
+
+	@Nullable
+	private static FastMethod parseMethod(Class<?> type) {
+		try {
+			return FastClass.create(type).getMethod("parse", new Class[]{CharSequence.class});
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+
+	private static boolean isInteger(String source) {
+		int length = source.length();
+		int i = length > 0 && (source.charAt(0) == '-' || source.charAt(0) == '+') ? 1 : 0;
+		if (i == length) return false;
+		for (; i < length; i++) {
+			if (!isDigit(source.charAt(i))) return false;
+		}
+		return true;
+	}
+
+	private static boolean isDecimal(String source) {
+		int length = source.length();
+		int i = length > 0 && (source.charAt(0) == '-' || source.charAt(0) == '+') ? 1 : 0;
+		int digits = 0;
+		while (i < length && isDigit(source.charAt(i))) {
+			i++;
+			digits++;
+		}
+		if (digits == 0) return false;
+		if (i < length && source.charAt(i) == '.') {
+			i++;
+			digits = 0;
+			while (i < length && isDigit(source.charAt(i))) {
+				i++;
+				digits++;
+			}
+			if (digits == 0) return false;
+		}
+		return i == length;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	@Nullable
+	private static Long parseLong(String source) {
+		try {
+			return Long.parseLong(source);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	@Nullable
+	private static Boolean parseBoolean(String source) {
+		if ("true".equals(source) || "1".equals(source)) return Boolean.TRUE;
+		if ("false".equals(source) || "0".equals(source)) return Boolean.FALSE;
+		return null;
+	}
+
+	@Nullable
+	private static UUID parseUuid(String source) {
+		if (source.length() != 36) return null;
+		long mostSigBits = 0, leastSigBits = 0;
+		for (int i = 0; i < 36; i++) {
+			char c = source.charAt(i);
+			if (i == 8 || i == 13 || i == 18 || i == 23) {
+				if (c != '-') return null;
+				continue;
+			}
+			int digit = Character.digit(c, 16);
+			if (digit < 0 || c > 'f') return null;
+			if (i < 19) {
+				mostSigBits = (mostSigBits << 4) | digit;
+			} else {
+				leastSigBits = (leastSigBits << 4) | digit;
+			}
+		}
+		return new UUID(mostSigBits, leastSigBits);
+	}
+}
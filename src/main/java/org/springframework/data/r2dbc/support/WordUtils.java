@@ -1,9 +1,13 @@
 package org.springframework.data.r2dbc.support;
 
-import org.apache.commons.text.CharacterPredicates;
-import org.apache.commons.text.RandomStringGenerator;
 import org.springframework.lang.NonNull;
-import org.springframework.util.StringUtils;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 /**
  * Utilities for string interaction.
@@ -11,36 +15,115 @@ import org.springframework.util.StringUtils;
  * @author Lao Tsing
  */
 public abstract class WordUtils {
+    private static final Pattern INLINE = Pattern.compile("(\\s+\\n|\\n|\\s+)");
+    private static final char[] ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final ThreadLocal<SecureRandom> SECURE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    /**
+     * Runs per column per row, so it is a plain char loop without a cache, names without underscores are returned as is.
+     */
     @NonNull
     public static String sqlToCamel(@NonNull final String sqlName) {
-        var parts = sqlName.split("_");
-        var camelCaseString = new StringBuilder(parts[0]);
-        if (parts.length > 1) {
-            for (int i = 1; i < parts.length; i++) {
-                if (parts[i] != null && parts[i].trim().length() > 0)
-                    camelCaseString.append(StringUtils.capitalize(parts[i]));
+        if (sqlName.indexOf('_') < 0) return sqlName;
+        var camel = new StringBuilder(sqlName.length());
+        int start = 0;
+        for (int i = 0; i <= sqlName.length(); i++) {
+            if (i < sqlName.length() && sqlName.charAt(i) != '_') continue;
+            if (start == 0) {
+                camel.append(sqlName, 0, i);
+            } else if (!isBlank(sqlName, start, i)) {
+                camel.append(Character.toUpperCase(sqlName.charAt(start))).append(sqlName, start + 1, i);
             }
+            start = i + 1;
         }
-        return camelCaseString.toString();
+        return camel.toString();
     }
 
+    private static boolean isBlank(final String text, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) > ' ') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Names already in sql form are returned as is.
+     */
     @NonNull
     public static String camelToSql(@NonNull final String camel) {
-        var string = camel.replaceAll("[A-Z]", "_$0").toLowerCase();
-        if (string.startsWith("_")) string = string.substring(1);
-        return string;
+        if (isSqlName(camel)) return camel;
+        var sql = new StringBuilder(camel.length() + 8);
+        for (int i = 0; i < camel.length(); i++) {
+            var c = camel.charAt(i);
+            if (c >= 'A' && c <= 'Z' && sql.length() > 0) sql.append('_');
+            sql.append(c);
+        }
+        var string = sql.toString().toLowerCase();
+        return string.startsWith("_") ? string.substring(1) : string;
+    }
+
+    private static boolean isSqlName(final String name) {
+        if (name.startsWith("_")) return false;
+        for (int i = 0; i < name.length(); i++) {
+            var c = name.charAt(i);
+            if (c > 127 || (c >= 'A' && c <= 'Z')) return false;
+        }
+        return true;
     }
 
     @NonNull
     public static String trimInline(@NonNull final String text) {
-        return text.replaceAll("(\\s+\\n|\\n|\\s+)", " ");
+        return INLINE.matcher(text).replaceAll(" ");
     }
 
+    /**
+     * Random string of digits and latin letters, not suitable for secrets.
+     */
     @NonNull
     public static String generateString(final int size) {
-        return new RandomStringGenerator.Builder().withinRange('0', 'z')
-                .filteredBy(CharacterPredicates.DIGITS, CharacterPredicates.LETTERS)
-                .build().generate(size);
+        return generateString(size, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Random string of digits and latin letters from a per-thread {@link SecureRandom}, for tokens and keys.
+     */
+    @NonNull
+    public static String generateSecureString(final int size) {
+        return generateString(size, SECURE_RANDOM.get());
+    }
+
+    @NonNull
+    public static List<String> generateStrings(final int count, final int size) {
+        return generateStrings(count, size, ThreadLocalRandom.current());
+    }
+
+    @NonNull
+    public static List<String> generateSecureStrings(final int count, final int size) {
+        return generateStrings(count, size, SECURE_RANDOM.get());
+    }
+
+    private static List<String> generateStrings(final int count, final int size, final Random random) {
+        var result = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(generateString(size, random));
+        }
+        return result;
+    }
+
+    /**
+     * Every random long gives up to ten 6-bit indexes, indexes beyond the alphabet are skipped to keep it uniform.
+     */
+    private static String generateString(final int size, final Random random) {
+        var chars = new char[size];
+        int i = 0;
+        while (i < size) {
+            var bits = random.nextLong();
+            for (int n = 0; n < 10 && i < size; n++, bits >>>= 6) {
+                var index = (int) (bits & 63);
+                if (index < ALPHANUMERIC.length) chars[i++] = ALPHANUMERIC[index];
+            }
+        }
+        return new String(chars);
     }
 
     public static String lastOctet(@NonNull String fieldName) {
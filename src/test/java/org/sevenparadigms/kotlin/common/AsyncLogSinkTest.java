@@ -0,0 +1,134 @@
+package org.sevenparadigms.kotlin.common;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AsyncLogSinkTest {
+
+    @Test
+    void shouldWriteEventsInOrder() {
+        var logger = mock(Logger.class);
+        try (var sink = new AsyncLogSink(16)) {
+            for (int i = 0; i < 10; i++) {
+                assertThat(sink.offer(logger, Level.INFO, "event {}", i), is(true));
+            }
+            sink.offer(logger, Level.WARN, "{} of {}", 1, 2);
+            sink.offer(logger, Level.ERROR, "{} {} {}", new Object[]{1, 2, 3});
+        }
+
+        var order = inOrder(logger);
+        for (int i = 0; i < 10; i++) {
+            order.verify(logger).info("event {}", (Object) i);
+        }
+        order.verify(logger).warn("{} of {}", 1, 2);
+        order.verify(logger).error("{} {} {}", 1, 2, 3);
+    }
+
+    @Test
+    void shouldDropWhenFull() throws InterruptedException {
+        var logger = mock(Logger.class);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(logger).info("first");
+
+        var sink = new AsyncLogSink(4);
+        sink.offer(logger, Level.INFO, "first");
+        assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+        for (int i = 0; i < 10; i++) {
+            sink.offer(logger, Level.INFO, "next");
+        }
+        assertThat(sink.getDroppedCount(), is(6L));
+
+        release.countDown();
+        sink.close();
+        verify(logger, times(4)).info("next");
+        assertThat(sink.getWrittenCount(), is(5L));
+        assertThat(sink.offer(logger, Level.INFO, "closed"), is(false));
+    }
+
+    @Test
+    void shouldBlockUntilDrained() {
+        var logger = mock(Logger.class);
+        try (var sink = new AsyncLogSink(2, AsyncLogSink.OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 1000; i++) {
+                sink.offer(logger, Level.DEBUG, "event {}", i);
+            }
+            assertThat(sink.getDroppedCount(), is(0L));
+        }
+        verify(logger, times(1000)).debug(eq("event {}"), any(Object.class));
+    }
+
+    @Test
+    void shouldSurviveErrorsOfAppenders() {
+        var logger = mock(Logger.class);
+        doThrow(new StackOverflowError()).when(logger).info("broken");
+        try (var sink = new AsyncLogSink(16, AsyncLogSink.OverflowPolicy.BLOCK)) {
+            sink.offer(logger, Level.INFO, "broken");
+            for (int i = 0; i < 100; i++) {
+                assertThat(sink.offer(logger, Level.INFO, "next"), is(true));
+            }
+        }
+        verify(logger, times(100)).info("next");
+    }
+
+    @Test
+    void shouldWriteEveryAcceptedEventOnClose() throws InterruptedException {
+        var logger = mock(Logger.class);
+        var sink = new AsyncLogSink(64, AsyncLogSink.OverflowPolicy.BLOCK);
+        var accepted = new AtomicLong();
+        var producers = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            var producer = new Thread(() -> {
+                while (sink.offer(logger, Level.DEBUG, "event")) {
+                    accepted.incrementAndGet();
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        Thread.sleep(50);
+        sink.close();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(sink.getWrittenCount(), is(accepted.get()));
+        assertThat(sink.size(), is(0));
+    }
+
+    @Test
+    void shouldParkWhenIdleAndWakeUpOnOffer() throws InterruptedException {
+        var logger = mock(Logger.class);
+        try (var sink = new AsyncLogSink(16)) {
+            for (int i = 0; i < 100 && !isParkedWithoutTimeout(); i++) {
+                Thread.sleep(50);
+            }
+            assertThat(isParkedWithoutTimeout(), is(true));
+
+            sink.offer(logger, Level.INFO, "wake up");
+            verify(logger, timeout(5000)).info("wake up");
+        }
+    }
+
+    private static boolean isParkedWithoutTimeout() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("async-log-sink"))
+                .anyMatch(thread -> thread.getState() == Thread.State.WAITING);
+    }
+}
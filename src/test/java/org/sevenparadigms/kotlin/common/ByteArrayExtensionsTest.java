@@ -0,0 +1,56 @@
+package org.sevenparadigms.kotlin.common;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteArrayExtensionsTest {
+
+    @Test
+    void shouldEncodeAndDecodeHex() {
+        var bytes = new byte[256];
+        new Random(1).nextBytes(bytes);
+        var expected = new StringBuilder();
+        for (byte b : bytes) {
+            expected.append(String.format("%02X", b & 0xFF));
+        }
+
+        var hex = ByteArrayExtensionsKt.hex(bytes);
+        assertThat(hex, equalTo(expected.toString()));
+        assertThat(ByteArrayExtensionsKt.hex(bytes, true), equalTo(expected.toString().toLowerCase()));
+        assertThat(ByteArrayExtensionsKt.hexToByteArray(hex), equalTo(bytes));
+        assertThat(ByteArrayExtensionsKt.hexToByteArray(hex.toLowerCase()), equalTo(bytes));
+        assertThat(ByteArrayExtensionsKt.hexTo(new byte[]{0x7F, 0x01}, new char[6], 1), equalTo(new char[]{0, '7', 'F', '0', '1', 0}));
+
+        assertThrows(IllegalArgumentException.class, () -> ByteArrayExtensionsKt.hexToByteArray("0G"));
+        assertThrows(IllegalArgumentException.class, () -> ByteArrayExtensionsKt.hexToByteArray("ABC"));
+    }
+
+    @Test
+    void shouldEncodeBase64Buffers() {
+        var bytes = "etag payload".getBytes(StandardCharsets.UTF_8);
+        var encoded = ByteArrayExtensionsKt.encodeBase64(ByteBuffer.wrap(bytes));
+
+        assertThat(StandardCharsets.US_ASCII.decode(encoded.duplicate()).toString(), equalTo(Base64.getEncoder().encodeToString(bytes)));
+        assertThat(ByteArrayExtensionsKt.decodeBase64(encoded), equalTo(ByteBuffer.wrap(bytes)));
+        assertThat(ByteArrayExtensionsKt.base64ToByteArray(ByteArrayExtensionsKt.base64(bytes)), equalTo(bytes));
+    }
+
+    @Test
+    void shouldHexEncodeDigests() {
+        var text = "cached query key";
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(HashExtensionsKt.sha512Hex(text), equalTo(DigestUtils.sha512Hex(bytes)));
+        assertThat(HashExtensionsKt.sha512Hex(ByteBuffer.wrap(bytes)), equalTo(DigestUtils.sha512Hex(bytes)));
+        assertThat(HashExtensionsKt.sha512_256Hex(bytes), equalTo(DigestUtils.sha512_256Hex(bytes)));
+    }
+}
@@ -0,0 +1,68 @@
+package org.sevenparadigms.kotlin.common;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class HashExtensionsTest {
+
+    @Test
+    void shouldMatchMurmur3OfCommonsCodec() {
+        var random = new Random(42);
+        for (int length = 0; length < 300; length++) {
+            var bytes = new byte[length];
+            random.nextBytes(bytes);
+            var expected = MurmurHash3.hash128x64(bytes);
+
+            assertThat(HashExtensionsKt.murmur128(bytes), equalTo(expected));
+            assertThat(HashExtensionsKt.murmur128(ByteBuffer.allocateDirect(length).put(bytes).flip()), equalTo(expected));
+
+            var hasher = new Murmur3Hasher();
+            int split = random.nextInt(length + 1);
+            hasher.update(bytes, 0, split).update(bytes, split, length - split);
+            assertThat(hasher.hash128(), equalTo(expected));
+        }
+    }
+
+    @Test
+    void shouldMatchXxHash64Vectors() {
+        assertThat(HashExtensionsKt.xxHash64(""), is(0xEF46DB3751D8E999L));
+        assertThat(HashExtensionsKt.xxHash64("a"), is(0xD24EC4F1A98C6E5BL));
+        assertThat(HashExtensionsKt.xxHash64("abc"), is(0x44BC2CF5AD770999L));
+        assertThat(HashExtensionsKt.xxHash64("Nobody inspects the spammish repetition"), is(0xFBCEA83C8A378BF1L));
+    }
+
+    @Test
+    void shouldHashStreamsLikeWholeInput() {
+        var random = new Random(7);
+        var bytes = new byte[1000];
+        random.nextBytes(bytes);
+        var expected = HashExtensionsKt.xxHash64(bytes);
+        var hasher = new XxHash64Hasher();
+        for (int offset = 0; offset < bytes.length; ) {
+            int count = Math.min(random.nextInt(40), bytes.length - offset);
+            hasher.update(bytes, offset, count);
+            offset += count;
+        }
+
+        assertThat(hasher.hash64(), is(expected));
+        assertThat(hasher.getLength(), is(1000L));
+        assertThat(hasher.reset().update(bytes).hash64(), is(expected));
+    }
+
+    @Test
+    void shouldEncodeCharsAsUtf8() {
+        var text = "key \u00e9\u4e2d\ud83d\ude00 \ud800 end ".repeat(40);
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(HashExtensionsKt.murmur128(text), equalTo(MurmurHash3.hash128x64(bytes)));
+        assertThat(HashExtensionsKt.xxHash64(new StringBuilder(text)), is(HashExtensionsKt.xxHash64(bytes)));
+        assertThat(HashExtensionsKt.sha512ByteArray(ByteBuffer.wrap(bytes)), equalTo(HashExtensionsKt.sha512ByteArray(bytes)));
+    }
+}
@@ -0,0 +1,82 @@
+package org.sevenparadigms.kotlin.common;
+
+import kotlin.Unit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+class LogExtensionsTest {
+    private static final Logger enabledLogger = mock(Logger.class);
+    private static final Logger disabledLogger = mock(Logger.class);
+
+    @BeforeAll
+    static void setUp() {
+        when(enabledLogger.isInfoEnabled()).thenReturn(true);
+        when(enabledLogger.isDebugEnabled()).thenReturn(true);
+        LogExtensions.disableAsync();
+        LogExtensions.setLoggerFactory(cls -> cls == Enabled.class ? enabledLogger : disabledLogger);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        LogExtensions.setLoggerFactory(LoggerFactory::getLogger);
+    }
+
+    @Test
+    void shouldSpreadVarargs() {
+        var source = new Enabled();
+        LogExtensionsKt.info(source, "{}", 1);
+        LogExtensionsKt.info(source, "{} {}", 1, 2);
+        LogExtensionsKt.info(source, "{} {} {}", 1, 2, 3);
+        LogExtensionsKt.debug(source, "{} {} {} {}", "a", "b", "c", "d");
+
+        verify(enabledLogger).info("{}", (Object) 1);
+        verify(enabledLogger).info("{} {}", 1, 2);
+        verify(enabledLogger).info("{} {} {}", 1, 2, 3);
+        verify(enabledLogger).debug("{} {} {} {}", "a", "b", "c", "d");
+    }
+
+    @Test
+    void shouldQuoteFieldValues() {
+        var fields = new LogFields("saved")
+                .field("id", 7)
+                .field("name", "Lao Tsing")
+                .field("query", "a=1")
+                .field("text", "say \"hi\"")
+                .field("empty", "")
+                .field("none", null);
+
+        assertThat(fields.toString(), equalTo("saved id=7 name=\"Lao Tsing\" query=\"a=1\" text=\"say \\\"hi\\\"\" empty=\"\" none=null"));
+    }
+
+    @Test
+    void shouldBuildFieldsOnlyWhenLevelIsEnabled() {
+        var ran = new AtomicBoolean();
+        LogExtensionsKt.info(new Disabled(), "skipped", fields -> {
+            ran.set(true);
+            return Unit.INSTANCE;
+        });
+        assertThat(ran.get(), is(false));
+        verify(disabledLogger, never()).info(anyString());
+
+        LogExtensionsKt.info(new Enabled(), "written", fields -> {
+            fields.field("user", "a b");
+            return Unit.INSTANCE;
+        });
+        verify(enabledLogger).info("written user=\"a b\"");
+    }
+
+    private static class Enabled {
+    }
+
+    private static class Disabled {
+    }
+}
@@ -0,0 +1,131 @@
+package org.sevenparadigms.kotlin.common;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResourceCacheTest {
+    @TempDir
+    Path directory;
+
+    private ClassLoader contextClassLoader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[]{directory.toUri().toURL()}, contextClassLoader));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ResourceCache.disableWatching();
+        ResourceCache.clear();
+        ((URLClassLoader) Thread.currentThread().getContextClassLoader()).close();
+        Thread.currentThread().setContextClassLoader(contextClassLoader);
+    }
+
+    @Test
+    void shouldLoadResourceFromJar() throws Exception {
+        var path = "org/apache/commons/codec/digest/MurmurHash3.class";
+        byte[] expected;
+        try (var stream = MurmurHash3.class.getClassLoader().getResourceAsStream(path)) {
+            expected = stream.readAllBytes();
+        }
+
+        assertThat(ByteArrayExtensionsKt.loadResource(path), equalTo(expected));
+        assertThat(ByteArrayExtensionsKt.loadResourceBuffer("/" + path).isReadOnly(), is(true));
+        try (var stream = ByteArrayExtensionsKt.openResource(path)) {
+            assertThat(stream.readAllBytes(), equalTo(expected));
+        }
+        assertThat(ResourceCache.size(), is(1));
+        ResourceCache.invalidate("/" + path);
+        assertThat(ResourceCache.size(), is(0));
+    }
+
+    @Test
+    void shouldMapLargeFiles() throws Exception {
+        var bytes = new byte[ResourceCache.MAP_THRESHOLD + 1];
+        new Random(3).nextBytes(bytes);
+        Files.write(directory.resolve("large.bin"), bytes);
+        Files.writeString(directory.resolve("small.txt"), "select 1");
+
+        var large = ResourceCache.get("large.bin");
+        assertThat(large.isDirect(), is(true));
+        assertThat(large, equalTo(ByteBuffer.wrap(bytes)));
+        assertThat(ResourceCache.get("small.txt").isDirect(), is(false));
+        assertThat(new String(ByteArrayExtensionsKt.loadResource("small.txt"), StandardCharsets.UTF_8), equalTo("select 1"));
+    }
+
+    @Test
+    void shouldReadLargeFilesOntoHeapWhenWatching() throws Exception {
+        var bytes = new byte[ResourceCache.MAP_THRESHOLD + 1];
+        new Random(5).nextBytes(bytes);
+        Files.write(directory.resolve("large.bin"), bytes);
+        assertThat(ResourceCache.get("large.bin").isDirect(), is(true));
+
+        ResourceCache.enableWatching();
+        var large = ResourceCache.get("large.bin");
+        assertThat(large.isDirect(), is(false));
+        assertThat(large, equalTo(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    void shouldLoadConcurrentlyOnce() throws Exception {
+        Files.writeString(directory.resolve("shared.sql"), "select 1");
+        var pool = Executors.newFixedThreadPool(4);
+        try {
+            var loads = new ArrayList<Future<ByteBuffer>>();
+            for (int i = 0; i < 8; i++) {
+                var path = i % 2 == 0 ? "shared.sql" : "/shared.sql";
+                loads.add(pool.submit(() -> ResourceCache.get(path)));
+            }
+            for (Future<ByteBuffer> load : loads) {
+                assertThat(load.get(5, TimeUnit.SECONDS), equalTo(ByteBuffer.wrap("select 1".getBytes(StandardCharsets.UTF_8))));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(ResourceCache.size(), is(1));
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() {
+        assertThrows(FileNotFoundException.class, () -> ResourceCache.get("missing.sql"));
+        assertThat(ResourceCache.size(), is(0));
+    }
+
+    @Test
+    void shouldReloadChangedFilesWhenWatching() throws Exception {
+        var file = directory.resolve("watched.sql");
+        Files.writeString(file, "select 1");
+        ResourceCache.enableWatching();
+        assertThat(new String(ResourceCache.getBytes("watched.sql"), StandardCharsets.UTF_8), equalTo("select 1"));
+
+        Files.writeString(file, "select 2");
+        // polling watch services report a change within a few seconds at high sensitivity
+        for (int i = 0; i < 300 && ResourceCache.size() > 0; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(ResourceCache.size(), is(0));
+        assertThat(new String(ResourceCache.getBytes("watched.sql"), StandardCharsets.UTF_8), equalTo("select 2"));
+    }
+}
@@ -0,0 +1,51 @@
+package org.sevenparadigms.kotlin.common;
+
+import kotlin.text.Regex;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.support.BoundedCache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class StringExtensionsTest {
+
+    @Test
+    void shouldBindMatchesByPosition() {
+        assertThat(StringExtensionsKt.binding("a = ? and b = ?", "\\?", "1", "2"), equalTo("a = 1 and b = 2"));
+        assertThat(StringExtensionsKt.binding(":x + :x", ":x", "1", "2"), equalTo("1 + 2"));
+        assertThat(StringExtensionsKt.binding("? ?", "\\?", "?", "b"), equalTo("? b"));
+        assertThat(StringExtensionsKt.binding("nothing", "\\?", "1"), equalTo("nothing"));
+    }
+
+    @Test
+    void shouldBindRegexCharactersLiterally() {
+        assertThat(StringExtensionsKt.binding("price ?", "\\?", "$1"), equalTo("price $1"));
+        assertThat(StringExtensionsKt.binding("path ?", "\\?", "c:\\tmp"), equalTo("path c:\\tmp"));
+        assertThat(StringExtensionsKt.binding("[a] [b]", "\\[\\w]", ".*", "(b)"), equalTo(".* (b)"));
+    }
+
+    @Test
+    void shouldRemoveMatches() {
+        assertThat(StringExtensionsKt.remove("a1b22c", new Regex("\\d+")), equalTo("abc"));
+        assertThat(StringExtensionsKt.remove("a1b22c", "\\d+"), equalTo("abc"));
+        assertThat(StringExtensionsKt.remove("abc", new Regex("\\d")), equalTo("abc"));
+    }
+
+    @Test
+    void shouldCacheCompiledRegexes() throws Exception {
+        var field = StringExtensionsKt.class.getDeclaredField("regexes");
+        field.setAccessible(true);
+        var regexes = (BoundedCache<String, Regex>) field.get(null);
+
+        var regex = "[x-z]+";
+        StringExtensionsKt.remove("axyb", regex);
+        var compiled = regexes.get(regex);
+        assertThat(compiled, notNullValue());
+        var hits = regexes.stats().getHitCount();
+
+        assertThat(StringExtensionsKt.remove("zzc", regex), equalTo("c"));
+        assertThat(StringExtensionsKt.binding("x y", regex, "1", "2"), equalTo("1 2"));
+        assertThat(regexes.stats().getHitCount(), greaterThanOrEqualTo(hits + 2));
+        assertThat(regexes.get(regex), sameInstance(compiled));
+    }
+}
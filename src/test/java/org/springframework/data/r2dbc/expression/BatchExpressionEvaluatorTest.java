@@ -0,0 +1,88 @@
+package org.springframework.data.r2dbc.expression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.support.FastPropertyAccessor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchExpressionEvaluatorTest {
+
+    @Test
+    void shouldTestRootObjects() {
+        var evaluator = new BatchExpressionEvaluator("age >= #min and name != null");
+        evaluator.getContext().setVariable("min", 18);
+        var rows = List.of(new Person("a", 17), new Person("b", 18), new Person(null, 40), new Person("c", 65));
+
+        assertThat(evaluator.test(rows), equalTo(new boolean[]{false, true, false, true}));
+        var expected = new BitSet();
+        expected.set(1);
+        expected.set(3);
+        assertThat(evaluator.testBits(rows), equalTo(expected));
+        assertThat(evaluator.filter(Flux.fromIterable(rows)).map(Person::getName).collectList().block(), contains("b", "c"));
+        assertThat(new BatchExpressionEvaluator("age + 1").evaluate(rows, Integer.class), contains(18, 19, 41, 66));
+    }
+
+    @Test
+    void shouldReadMaps() {
+        var evaluator = new BatchExpressionEvaluator("status == 'active'");
+        var rows = List.of(Map.of("status", "active"), Map.of("status", "blocked"));
+
+        assertThat(evaluator.filter(rows), contains(Map.of("status", "active")));
+    }
+
+    @Test
+    void shouldLeaveMapsAndJdkClassesToOtherAccessors() {
+        var context = new StandardEvaluationContext();
+
+        assertThat(FastPropertyAccessor.INSTANCE.canRead(context, Map.of("status", "active"), "status"), is(false));
+        assertThat(FastPropertyAccessor.INSTANCE.canRead(context, new Date(0), "time"), is(false));
+        assertThat(FastPropertyAccessor.INSTANCE.canRead(context, new Person("a", 1), "age"), is(true));
+        assertThat(new BatchExpressionEvaluator("time").evaluate(new Date(5), Long.class), is(5L));
+    }
+
+    @Test
+    void shouldRaiseExceptionsOfGetters() {
+        var context = new StandardEvaluationContext();
+        var exception = assertThrows(AccessException.class, () -> FastPropertyAccessor.INSTANCE.read(context, new Faulty(), "name"));
+        assertThat(exception.getCause().getCause(), instanceOf(IllegalStateException.class));
+
+        assertThrows(SpelEvaluationException.class, () -> new BatchExpressionEvaluator("name").evaluate(new Faulty(), String.class));
+    }
+
+    public static class Faulty {
+        private String name;
+
+        public String getName() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    public static class Person {
+        private String name;
+        private int age;
+
+        public Person(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
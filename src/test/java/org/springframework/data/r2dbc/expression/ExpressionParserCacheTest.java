@@ -0,0 +1,57 @@
+package org.springframework.data.r2dbc.expression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ExpressionParserCacheTest {
+
+    @Test
+    void shouldParseOnce() {
+        var cache = new ExpressionParserCache();
+        var expression = cache.parseExpression("length() > 2");
+
+        assertThat(cache.parseExpression("length() > 2"), sameInstance(expression));
+        assertThat(cache.stats().getHitCount(), is(1L));
+        assertThat(expression.getValue("abc", Boolean.class), is(true));
+    }
+
+    @Test
+    void shouldCompileExpression() {
+        var cache = new ExpressionParserCache(16, null, SpelCompilerMode.IMMEDIATE);
+        var expression = (SpelExpression) cache.parseExpression("length() > 2");
+
+        assertThat(expression.getValue("ab", Boolean.class), is(false));
+        assertThat(expression.compileExpression(), is(true));
+        assertThat(expression.getValue("abcd", Boolean.class), is(true));
+        assertThat(cache.compile("1 + 2").getValue(Integer.class), is(3));
+    }
+
+    @Test
+    void shouldCompileHotExpressionsOfSharedInstance() {
+        assertThat(ExpressionParserCache.INSTANCE.getCompilerMode(), is(SpelCompilerMode.MIXED));
+        assertThat(new ExpressionParserCache().getCompilerMode(), is(SpelCompilerMode.OFF));
+
+        var expression = (SpelExpression) ExpressionParserCache.INSTANCE.parseExpression("length() > 3");
+        for (int i = 0; i < 200; i++) {
+            assertThat(expression.getValue("abcd", Boolean.class), is(true));
+        }
+        assertThat(expression.getValue("ab", Boolean.class), is(false));
+    }
+
+    @Test
+    void shouldCacheTemplateByContext() {
+        var cache = new ExpressionParserCache();
+        var template = cache.parseExpression("Hello #{toUpperCase()}", ParserContext.TEMPLATE_EXPRESSION);
+
+        assertThat(cache.parseExpression("Hello #{toUpperCase()}", new TemplateParserContext("#{", "}")), sameInstance(template));
+        assertThat(template.getValue("world", String.class), equalTo("Hello WORLD"));
+        assertThat(cache.parseExpression("Hello #{toUpperCase()}", new TemplateParserContext("${", "}")), not(sameInstance(template)));
+        assertThat(cache.parseExpression("'a'", null), sameInstance(cache.parseExpression("'a'")));
+    }
+}
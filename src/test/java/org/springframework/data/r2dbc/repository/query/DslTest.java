@@ -0,0 +1,147 @@
+package org.springframework.data.r2dbc.repository.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.support.JsonUtils;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class DslTest {
+
+    @Test
+    void shouldBuildQueryFromCriteria() {
+        var id = UUID.fromString("a3b8d1b6-0b3b-4b1a-9c1a-1a2b3c4d5e6f");
+        var dsl = Dsl.create()
+                .equals("name", "test")
+                .in("id", id)
+                .greaterThan("age", 18)
+                .isNull("deletedAt")
+                .isFalse("blocked")
+                .like("title", " word ");
+
+        assertThat(dsl.getQuery(), equalTo("name==test,id^^" + id + ",age>>18,@deletedAt,!blocked,title~~word"));
+        assertThat(dsl.getCriteriaCount(), is(6));
+    }
+
+    @Test
+    void shouldPrefixOrGroupOnlyAfterExistingCriteria() {
+        var dsl = Dsl.create().or().equals("a", 1).or().equals("b", 2).lessThan("c", LocalDate.of(2022, 1, 1));
+
+        assertThat(dsl.getQuery(), equalTo("a==1,()b==2,c<<2022-01-01"));
+    }
+
+    @Test
+    void shouldAppendToInitialQueryAndDropBlankOne() {
+        assertThat(Dsl.create("a==1").in("b", 1, 2L, 3.5).getQuery(), equalTo("a==1,b^^1 2 3.5"));
+        assertThat(Dsl.create("   ").notIn("b", "x", "y").getQuery(), equalTo("b!^x y"));
+    }
+
+    @Test
+    void shouldRenderPendingCriteriaAfterQueryWasRead() {
+        var dsl = Dsl.create().isTrue("active");
+        assertThat(dsl.getQuery(), equalTo("active"));
+
+        dsl.isNotNull("email");
+        assertThat(dsl.getQuery(), equalTo("active,!@email"));
+
+        dsl.setQuery("x==1");
+        assertThat(dsl.getQuery(), equalTo("x==1"));
+    }
+
+    @Test
+    void shouldSerializeRenderedQuery() {
+        var dsl = Dsl.create().equals("a", "1").in("b", List.of(UUID.fromString("a3b8d1b6-0b3b-4b1a-9c1a-1a2b3c4d5e6f")));
+        var json = JsonUtils.objectToJson(dsl);
+
+        assertThat(json.get("query").asText(), equalTo("a==1,b^^a3b8d1b6-0b3b-4b1a-9c1a-1a2b3c4d5e6f"));
+    }
+
+    @Test
+    void shouldParseQueryIntoCriteria() {
+        var criteria = Dsl.create("id^^1 2 3,()name~~jo,@deletedAt,!@email,!blocked,active,tsv@@word,age>=18").getCriteria();
+
+        assertThat(criteria.size(), is(8));
+        assertThat(criteria.get(0).getOperator(), is(DslCriteria.Operator.IN));
+        assertThat(criteria.get(0).getValues(Long.class), contains(1L, 2L, 3L));
+        assertThat(criteria.get(1).isOr(), is(true));
+        assertThat(criteria.get(1).getField(), equalTo("name"));
+        assertThat(criteria.get(1).getOperator(), is(DslCriteria.Operator.LIKE));
+        assertThat(criteria.get(2).getOperator(), is(DslCriteria.Operator.IS_NULL));
+        assertThat(criteria.get(3).getOperator(), is(DslCriteria.Operator.NOT_NULL));
+        assertThat(criteria.get(3).getField(), equalTo("email"));
+        assertThat(criteria.get(4).getOperator(), is(DslCriteria.Operator.IS_FALSE));
+        assertThat(criteria.get(5).getOperator(), is(DslCriteria.Operator.IS_TRUE));
+        assertThat(criteria.get(6).getOperator(), is(DslCriteria.Operator.FTS));
+        assertThat(criteria.get(7).getValue(Integer.class), is(18));
+        assertThat(criteria.get(7).toString(), equalTo("age>=18"));
+    }
+
+    @Test
+    void shouldShareParsedCriteriaForSameQuery() {
+        var first = Dsl.create().equals("a", 1).getCriteria();
+        var second = Dsl.create("a==1").getCriteria();
+
+        assertThat(second, sameInstance(first));
+        assertThat(Dsl.create().getCriteriaCount(), is(0));
+    }
+
+    @Test
+    void shouldKeepPrimitiveAndUuidInListsAsIdSets() {
+        var id = UUID.fromString("0000000a-000b-000c-000d-00000000000e");
+        var dsl = Dsl.create()
+                .in("a", new long[]{1, -2, Long.MAX_VALUE})
+                .notIn("b", new int[]{3, 4})
+                .in("c", LongStream.rangeClosed(5, 7))
+                .notIn("d", Set.of(id));
+
+        assertThat(dsl.getQuery(), equalTo("a^^1 -2 9223372036854775807,b!^3 4,c^^5 6 7,d!^" + id));
+        assertThat(dsl.getIdSets().size(), is(4));
+        assertThat(dsl.getIdSets().get(0).toLongArray()[2], is(Long.MAX_VALUE));
+        assertThat(dsl.getIdSets().get(1).isNegated(), is(true));
+        assertThat(dsl.getIdSets().get(3).getType(), is(DslIdSet.Type.UUID));
+        assertThat(dsl.getIdSets().get(3).toUuidArray()[0], equalTo(id));
+    }
+
+    @Test
+    void shouldNotConsumeIdsWithoutField() {
+        var ids = LongStream.of(1, 2).iterator();
+        var stream = LongStream.of(3, 4);
+        var dsl = Dsl.create().in(null, ids).notIn(null, stream);
+
+        assertThat(ids.nextLong(), is(1L));
+        assertThat(stream.sum(), is(7L));
+        assertThat(dsl.getIdSets().isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldRenderValuesWhenAppended() {
+        var ids = new Long[]{1L, 2L};
+        var names = new String[]{"a", "b"};
+        var date = new Date(0);
+        var dsl = Dsl.create().in("id", ids).notIn("name", names).equals("date", date);
+        ids[0] = 3L;
+        names[1] = "c";
+        var expected = "id^^1 2,name!^a b,date==" + new Date(0);
+        date.setTime(1000);
+
+        assertThat(dsl.getQuery(), equalTo(expected));
+    }
+
+    @Test
+    void shouldCountEmptySegmentsAsSplitDid() {
+        var dsl = Dsl.create("a,,b");
+
+        assertThat(dsl.getCriteriaCount(), is("a,,b".split(Dsl.COMMA).length));
+        assertThat(dsl.getCriteriaCount(), is(3));
+        assertThat(dsl.getCriteria().size(), is(2));
+        assertThat(Dsl.create(",a,").getCriteriaCount(), is(2));
+        assertThat(Dsl.create(",,").getCriteriaCount(), is(0));
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.ResolvableType;
 
 import java.util.Optional;
 
@@ -67,6 +69,49 @@ class BeansTest {
         assertThat(Beans.getApplicationContext().containsBean("objectMapper"), is(true));
     }
 
+    @Test
+    void shouldReturnBeanByQualifierAndGenericType() {
+        var mapper = Beans.ofQualified(ObjectMapper.class, "objectMapper");
+
+        assertThat(mapper, sameInstance(JsonUtils.getMapper()));
+        assertThat(Beans.ofQualified(ObjectMapper.class, "objectMapper"), sameInstance(mapper));
+        assertThat(Beans.<Beans>of(ResolvableType.forClass(Beans.class)), sameInstance(beans));
+    }
+
+    @Test
+    void shouldReturnDefaultValueWhenBeanIsMissing() {
+        assertThat(Beans.of(String.class, "default"), equalTo("default"));
+        assertThat(Beans.of(CharSequence.class, "default"), equalTo("default"));
+    }
+
+    @Test
+    void shouldCachePropertiesUntilRefresh() {
+        var hits = Beans.getPropertyStats().getHitCount();
+
+        assertThat(Beans.getProperty("spring.main.allow-bean-definition-overriding", Boolean.class, false), is(true));
+        assertThat(Beans.getProperty("spring.main.allow-bean-definition-overriding", Boolean.class, false), is(true));
+        assertThat(Beans.getProperty("missing.property", "default"), equalTo("default"));
+        assertThat(Beans.getPropertyStats().getHitCount() - hits, is(1L));
+
+        beans.onApplicationEvent(new ContextRefreshedEvent(Beans.getApplicationContext()));
+        Beans.getProperty("spring.main.allow-bean-definition-overriding", Boolean.class, false);
+        assertThat(Beans.getPropertyStats().getHitCount() - hits, is(1L));
+    }
+
+    @Test
+    void shouldCountOneMissPerLoadedProperty() {
+        var before = Beans.getPropertyStats();
+        for (int i = 0; i < 3; i++) {
+            Beans.getProperty("missing.counted." + i, "default");
+            Beans.getProperty("missing.counted." + i, "default");
+        }
+        var after = Beans.getPropertyStats();
+
+        assertThat(after.getMissCount() - before.getMissCount(), is(3L));
+        assertThat(after.getLoadSuccessCount() - before.getLoadSuccessCount(), is(3L));
+        assertThat(after.getHitCount() - before.getHitCount(), is(3L));
+    }
+
     @Test
     void shouldPutObjectToCacheAndReturnBean() {
         var result = Beans.putCache(new User(1, "A"));
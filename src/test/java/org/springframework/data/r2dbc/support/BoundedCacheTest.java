@@ -0,0 +1,120 @@
+package org.springframework.data.r2dbc.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BoundedCacheTest {
+
+    @Test
+    void shouldKeepFrequentEntriesOnScan() {
+        // a single segment of 5 entries: 4 protected, the rest for probation
+        var cache = new BoundedCache<Integer, String>(5);
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, "hot");
+            cache.get(i);
+        }
+        for (int i = 100; i < 200; i++) {
+            cache.put(i, "cold");
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(cache.get(i), equalTo("hot"));
+        }
+        assertThat(cache.get(198), nullValue());
+        assertThat(cache.get(199), equalTo("cold"));
+        assertThat(cache.size(), is(5));
+        assertThat(cache.stats().getEvictionCount(), is(99L));
+    }
+
+    @Test
+    void shouldPromoteInSmallCaches() {
+        var cache = new BoundedCache<Integer, String>(2);
+        cache.put(1, "hot");
+        cache.get(1);
+        for (int i = 100; i < 200; i++) {
+            cache.put(i, "cold");
+        }
+
+        assertThat(cache.get(1), equalTo("hot"));
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    void shouldExpireAfterAccess() throws InterruptedException {
+        var cache = new BoundedCache<String, String>(10, Duration.ofMillis(20));
+        cache.put("a", "1");
+        Thread.sleep(40);
+
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.size(), is(0));
+    }
+
+    @Test
+    void shouldRecordStats() {
+        var cache = new BoundedCache<String, Integer>(10);
+        cache.computeIfAbsent("a", String::length);
+        cache.computeIfAbsent("a", String::length);
+        cache.get("b");
+        var stats = cache.stats();
+
+        assertThat(stats.getHitCount(), is(1L));
+        assertThat(stats.getMissCount(), is(2L));
+        assertThat(stats.getLoadSuccessCount(), is(1L));
+        assertThat(stats.getHitRate(), closeTo(1.0 / 3, 0.001));
+    }
+
+    @Test
+    void shouldReadWithoutWaitingForWriters() throws Exception {
+        var cache = new BoundedCache<Object, String>(10);
+        cache.put("hot", "value");
+        var hashing = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var blockingKey = new Object() {
+            @Override
+            public int hashCode() {
+                hashing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            }
+        };
+        var writer = new Thread(() -> cache.put(blockingKey, "slow"));
+        writer.start();
+        assertThat(hashing.await(5, TimeUnit.SECONDS), is(true));
+
+        var reader = Executors.newFixedThreadPool(4);
+        try {
+            var reads = new ArrayList<Future<String>>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(reader.submit(() -> {
+                    String value = null;
+                    for (int j = 0; j < 10_000; j++) {
+                        value = cache.get("hot");
+                    }
+                    return value;
+                }));
+            }
+            for (Future<String> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS), equalTo("value"));
+            }
+        } finally {
+            release.countDown();
+            reader.shutdown();
+        }
+        writer.join();
+        assertThat(cache.get(blockingKey), equalTo("slow"));
+        assertThat(cache.stats().getHitCount(), is(40_001L));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Spy;
 import org.springframework.beans.factory.annotation.Qualifier;
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.Month;
@@ -11,6 +12,7 @@ import java.util.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class FastMethodInvokerTest {
 
@@ -164,6 +166,50 @@ class FastMethodInvokerTest {
         assertThat(result, equalTo(new BigInteger(String.valueOf(1))));
     }
 
+    @Test
+    void shouldConvertStringsThroughTypedConverters() {
+        var uuid = UUID.randomUUID();
+
+        assertThat(FastMethodInvoker.stringToObject(uuid.toString(), UUID.class), equalTo(uuid));
+        assertThat(FastMethodInvoker.stringToObject("-15", Long.class), equalTo(-15L));
+        assertThat(FastMethodInvoker.stringToObject("2147483648", int.class), nullValue());
+        assertThat(FastMethodInvoker.stringToObject("1.25", Double.class), equalTo(1.25));
+        assertThat(FastMethodInvoker.stringToObject("true", Boolean.class), equalTo(true));
+        assertThat(FastMethodInvoker.stringToObject("2022-04-24", LocalDate.class), equalTo(LocalDate.of(2022, 4, 24)));
+        assertThat(FastMethodInvoker.stringToObject("APRIL", Month.class), equalTo(Month.APRIL));
+        assertThat(FastMethodInvoker.stringToObject("not-a-uuid", UUID.class), nullValue());
+    }
+
+    @Test
+    void shouldConvertDecimalsExactly() {
+        assertThat(FastMethodInvoker.stringToObject("1.23456789", BigDecimal.class), equalTo(new BigDecimal("1.23456789")));
+        assertThat(FastMethodInvoker.stringToObject("12345678901234567890", BigDecimal.class), equalTo(new BigDecimal("12345678901234567890")));
+        assertThat(FastMethodInvoker.stringToObject("1e5", BigDecimal.class), nullValue());
+    }
+
+    @Test
+    void shouldConvertBooleans() {
+        assertThat(FastMethodInvoker.stringToObject("1", Boolean.class), equalTo(true));
+        assertThat(FastMethodInvoker.stringToObject("0", boolean.class), equalTo(false));
+        assertThat(FastMethodInvoker.stringToObject("false", Boolean.class), equalTo(false));
+        assertThat(FastMethodInvoker.stringToObject("TRUE", Boolean.class), nullValue());
+        assertThat(FastMethodInvoker.stringToObject("yes", Boolean.class), nullValue());
+    }
+
+    @Test
+    void shouldConvertOnlySingleCharacters() {
+        assertThat(FastMethodInvoker.stringToObject("a", Character.class), equalTo('a'));
+        assertThat(FastMethodInvoker.stringToObject("b", char.class), equalTo('b'));
+        assertThat(FastMethodInvoker.stringToObject("abc", Character.class), nullValue());
+        assertThat(FastMethodInvoker.stringToObject("", char.class), nullValue());
+    }
+
+    @Test
+    void shouldPassStringToSupertypes() {
+        assertThat(FastMethodInvoker.stringToObject("abc", Object.class), equalTo("abc"));
+        assertThat(FastMethodInvoker.stringToObject("12", CharSequence.class), equalTo("12"));
+    }
+
     @Test
     void shouldReturnFieldsByAnnotation() {
         class User {
@@ -259,6 +305,44 @@ class FastMethodInvokerTest {
 
     }
 
+    @Test
+    void shouldReturnValueFromBooleanGetter() {
+        var account = new Account();
+        FastMethodInvoker.setValue(account, "active", "true");
+
+        assertThat(FastMethodInvoker.getValue(account, "active"), is(true));
+    }
+
+    @Test
+    void shouldIgnoreUnknownPropertyOnGetAndSet() {
+        var account = new Account();
+        FastMethodInvoker.setValue(account, "unknown", "value");
+
+        assertThat(FastMethodInvoker.getValue(account, "unknown"), nullValue());
+    }
+
+    @Test
+    void shouldThrowWhenPropertyHasNoSetter() {
+        var account = new Account();
+
+        assertThrows(NoSuchMethodError.class, () -> FastMethodInvoker.setValue(account, "readOnly", "value"));
+        assertThat(FastMethodInvoker.getValue(account, "readOnly"), is("fixed"));
+    }
+
+    @Test
+    void shouldCopyBetweenDifferentClassesWithConversion() {
+        var dto = new UserDto("42", null);
+        var user = FastMethodInvoker.copyNotNull(dto, new User(1, "keep"));
+
+        assertThat(user.getAge(), equalTo(42));
+        assertThat(user.getName(), equalTo("keep"));
+
+        var back = FastMethodInvoker.copy(user, new UserDto("0", "x"));
+
+        assertThat(back.getAge(), equalTo("42"));
+        assertThat(back.getName(), equalTo("keep"));
+    }
+
     static class User {
         int id;
         String name;
@@ -306,4 +390,47 @@ class FastMethodInvokerTest {
             this.name = name;
         }
     }
-}
\ No newline at end of file
+
+    static class Account {
+        boolean active;
+        String readOnly = "fixed";
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public String getReadOnly() {
+            return readOnly;
+        }
+    }
+
+    static class UserDto {
+        String age;
+        String name;
+
+        public UserDto(String age, String name) {
+            this.age = age;
+            this.name = name;
+        }
+
+        public String getAge() {
+            return age;
+        }
+
+        public void setAge(String age) {
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
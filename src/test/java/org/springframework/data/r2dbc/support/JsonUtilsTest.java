@@ -1,17 +1,32 @@
 package org.springframework.data.r2dbc.support;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class JsonUtilsTest {
 
@@ -153,6 +168,63 @@ class JsonUtilsTest {
         assertThat(resultList.get(0).age, is(5));
     }
 
+    @Test
+    void shouldBindArrayElementsToObjectList() {
+        var json = JsonUtils.objectToJson("[{'id':1,'name':'first','age':'30','extra':true},{'id':2,'name':'second'}]");
+        var resultList = JsonUtils.jsonToObjectList(json, User.class);
+
+        assertThat(resultList.size(), is(2));
+        assertThat(resultList.get(0).id, is(1));
+        assertThat(resultList.get(0).age, is(30));
+        assertThat(resultList.get(1).name, is("second"));
+        assertThat(resultList.get(1).age, is(0));
+        assertThat(JsonUtils.jsonToObjectList(JsonUtils.arrayNode(), User.class).isEmpty(), is(true));
+    }
+
+    @Test
+    void shouldStreamArrayElements() {
+        var bytes = "[{\"id\":1,\"name\":\"first\"},{\"id\":2,\"name\":\"second\",\"tags\":[1,{\"a\":[]}]}]"
+                .getBytes(StandardCharsets.UTF_8);
+        var fromStream = JsonUtils.readArray(new ByteArrayInputStream(bytes), User.class).collectList().block();
+
+        assertThat(fromStream.size(), is(2));
+        assertThat(fromStream.get(1).name, equalTo("second"));
+
+        var chunks = new ArrayList<DataBuffer>();
+        for (int i = 0; i < bytes.length; i += 7) {
+            var chunk = new byte[Math.min(7, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            chunks.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        var fromBuffers = JsonUtils.readArray(Flux.fromIterable(chunks), Map.class).collectList().block();
+
+        assertThat(fromBuffers.size(), is(2));
+        assertThat(fromBuffers.get(0).get("name"), equalTo("first"));
+        assertThat(fromBuffers.get(1).get("tags"), equalTo(List.of(1, Map.of("a", List.of()))));
+    }
+
+    @Test
+    void shouldConvertNestedDocument() {
+        var json = JsonUtils.objectToJson("{'a':{'b':[1,{'c':null}],'d':'text'},'e':true}");
+        var result = JsonUtils.jsonToMap(json);
+
+        assertThat(result, equalTo(Map.of("a", Map.of("b", List.of(1, new HashMap<>(Collections.singletonMap("c", null))), "d", "text"), "e", true)));
+        assertThat(JsonUtils.jsonToMapView(json), equalTo(result));
+    }
+
+    @Test
+    void shouldReadMapViewLazily() {
+        var json = (ObjectNode) JsonUtils.objectToJson("{'a':{'b':[1,2]},'c':5}");
+        var view = JsonUtils.jsonToMapView(json);
+
+        assertThat(view.size(), is(2));
+        assertThat(view.get("c"), is(5));
+        assertThat(((Map<String, List<?>>) view.get("a")).get("b").get(1), is(2));
+        json.put("c", 6);
+        assertThat(view.get("c"), is(6));
+        assertThat(view.get("missing"), nullValue());
+    }
+
     @Test
     void shouldReturnObjectNode() {
         var result = JsonUtils.objectNode();
@@ -161,6 +233,44 @@ class JsonUtilsTest {
         assertThat(result.getClass(), equalTo(ObjectNode.class));
     }
 
+    @Test
+    void shouldReadWithModulesRegisteredAfterFirstRead() {
+        var json = JsonUtils.objectNode().put("id", 1).put("registeredLater", "a");
+        assertThat(JsonUtils.jsonToObject(json, User.class).getId(), is(1));
+
+        var unknown = new ArrayList<String>();
+        JsonUtils.getMapper().registerModule(new SimpleModule() {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.addDeserializationProblemHandler(new DeserializationProblemHandler() {
+                    @Override
+                    public boolean handleUnknownProperty(DeserializationContext context, JsonParser parser,
+                                                         JsonDeserializer<?> deserializer, Object bean, String name) {
+                        return "registeredLater".equals(name) && unknown.add(name);
+                    }
+                });
+            }
+        });
+
+        assertThat(JsonUtils.jsonToObject(json, User.class).getId(), is(1));
+        assertThat(unknown, contains("registeredLater"));
+    }
+
+    @Test
+    void shouldReadWithFeaturesChangedAfterFirstRead() {
+        var json = JsonUtils.objectNode().put("id", 1).put("unknown", "a");
+        assertThat(JsonUtils.jsonToObject(json, User.class).getId(), is(1));
+
+        JsonUtils.getMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> JsonUtils.jsonToObject(json, User.class));
+        } finally {
+            JsonUtils.getMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        }
+        assertThat(JsonUtils.jsonToObject(json, User.class).getId(), is(1));
+    }
+
     @Test
     void shouldReturnArrayNode() {
         var result = JsonUtils.arrayNode();
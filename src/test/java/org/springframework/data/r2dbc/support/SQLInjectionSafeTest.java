@@ -0,0 +1,91 @@
+package org.springframework.data.r2dbc.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SQLInjectionSafeTest {
+    private static final String MNEMONIC = ("TABLE|TABLESPACE|PROCEDURE|FUNCTION|TRIGGER|VIEW|LIBRARY|REFERENCES|FROM|\n" +
+            "            SELECT|INSERT|UPDATE|DELETE|TRUNCATE|USAGE|DATABASE|INDEX|CONSTRAINT|TRIGGER|SET|\n" +
+            "            USER|SCHEMA|SQL|WORK|TRANSACTION|OPTION|COMMENT|SYNONYM|TYPE|SESSION|USER|ROLE|\n" +
+            "            PACKAGE|BODY|OPERATOR|CASCADE|SEQUENCE|RESTORE|POINT|FILE|CLASS|CURSOR|OBJECT|\n" +
+            "            RULE|DATASET|STORE|COLUMN|FIELD|HTTP|NULL|SLEEP|VERSION|PRIVILEGES|PROGRAM").replaceAll("[\\r\\n]", "");
+    private static final Pattern REGEX = Pattern.compile(
+            "(.*)(;|UNION)([\\s\\r\\n])(COPY|DBLINK|GRANT|LOCK|TRUNCATE|WITH|ALTER|" +
+                    "CREATE|DELETE|DROP|EXEC(UTE)?|INSERT|UPSERT|MERGE|SELECT|JOIN|UPDATE)(.*)('(.*)'|" +
+                    " \\* |\\(([\\s\\r\\n])'|" + MNEMONIC + ")(.*)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    private static final List<String> TOKENS = List.of(";", "union", "UnIoN", "un\u0131on", " ", "  ", "\t", "\n", "\r",
+            "\u2028", "\u0085", "\u000B", "'", "(", " * ", "*", "select", "drop", "EXEC", "execute", "exe", "copy", "dblink",
+            "table", "set", "user", "\u017Fet", "            rule", "            package", "null", "sleep", "abc", "x",
+            "\u0130ndex", "\u212Aey", "word", "%", "+", "\uD83D\uDE00");
+
+    @Test
+    void shouldDetectInjection() {
+        assertThrows(RuntimeException.class, () -> SQLInjectionSafe.throwElse("1; drop table users"));
+        assertThrows(RuntimeException.class, () -> SQLInjectionSafe.throwElse("a%3B%20select%20%2A%20from%20users"));
+        assertThat(SQLInjectionSafe.throwElse("plain words; nothing else"), is(true));
+        assertThat(SQLInjectionSafe.isSafe("name UNION\nSELECT 'a'"), is(false));
+        assertThat(SQLInjectionSafe.isSafe("x\n; select null"), is(true));
+    }
+
+    @Test
+    void shouldMatchRegexSemantics() {
+        var random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            var builder = new StringBuilder();
+            var count = 1 + random.nextInt(12);
+            for (int j = 0; j < count; j++) {
+                builder.append(TOKENS.get(random.nextInt(TOKENS.size())));
+            }
+            var text = builder.toString().replace("%", "").replace("+", "");
+            assertThat(text, SQLInjectionSafe.isSafe(text), is(!REGEX.matcher(text).matches()));
+        }
+    }
+
+    @Test
+    void shouldSkipScanForPlainAndRepeatedQueries() {
+        var scanned = SQLInjectionSafe.getScannedCount();
+        var prefiltered = SQLInjectionSafe.getPrefilteredCount();
+        SQLInjectionSafe.throwElse("autocomplete");
+        SQLInjectionSafe.throwElse("two+words");
+        SQLInjectionSafe.throwElse("repeated; query");
+        SQLInjectionSafe.throwElse("repeated; query");
+
+        assertThat(SQLInjectionSafe.getPrefilteredCount() - prefiltered, is(2L));
+        assertThat(SQLInjectionSafe.getScannedCount() - scanned, is(1L));
+        assertThat(SQLInjectionSafe.isSafe("a+union+select+null"), is(false));
+    }
+
+    @Test
+    void shouldScanLongInputInLinearTime() {
+        var text = "; drop ".repeat(20_000) + "(";
+
+        assertThat(SQLInjectionSafe.isSafe(text), is(true));
+        assertThat(SQLInjectionSafe.isSafe(text + " * x"), is(false));
+
+        // a quadratic scan would take 64 times longer on the 8 times longer input, the bound leaves room for noise
+        var shortText = "; drop ".repeat(5_000) + "(";
+        var longText = "; drop ".repeat(40_000) + "(";
+        for (int i = 0; i < 20; i++) {
+            SQLInjectionSafe.isSafe(shortText);
+            SQLInjectionSafe.isSafe(longText);
+        }
+        assertThat((double) bestScanTime(longText) / bestScanTime(shortText), lessThan(24.0));
+    }
+
+    private static long bestScanTime(String text) {
+        var best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            var start = System.nanoTime();
+            SQLInjectionSafe.isSafe(text);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -2,10 +2,13 @@ package org.springframework.data.r2dbc.support;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class WordUtilsTest {
 
@@ -27,6 +30,20 @@ class WordUtilsTest {
         assertEquals(result, "first_column_name");
     }
 
+    @Test
+    void shouldConvertNamesLikeRegexVersion() {
+        assertEquals("userId", WordUtils.sqlToCamel("user_id"));
+        assertEquals("userId", WordUtils.sqlToCamel("user__id_"));
+        assertEquals("UserId", WordUtils.sqlToCamel("_user_id"));
+        assertEquals("id", WordUtils.camelToSql("Id"));
+        assertEquals("_user_id", WordUtils.camelToSql("_UserId"));
+        assertEquals("u_r_l", WordUtils.camelToSql("uRL"));
+        var sqlName = "created_at";
+        assertSame(sqlName, WordUtils.camelToSql(sqlName));
+        var camelName = "createdAt";
+        assertSame(camelName, WordUtils.sqlToCamel(camelName));
+    }
+
     @Test
     void shouldTrimTextAndReturnOneLine() {
         var text = "Test text" + " \n" + "\n" + "!!!";
@@ -45,6 +62,15 @@ class WordUtilsTest {
                 allOf(greaterThan(4), lessThanOrEqualTo(7), not(equalTo(6))));
     }
 
+    @Test
+    void shouldGenerateAlphanumericStrings() {
+        var result = WordUtils.generateSecureStrings(100, 32);
+
+        assertThat(result.size(), is(100));
+        assertThat(new HashSet<>(result).size(), is(100));
+        result.forEach(it -> assertThat(it, it.matches("[0-9A-Za-z]{32}"), is(true)));
+    }
+
     @Test
     void shouldReturnLastPartAfterDot() {
         String fieldName = "first.Field";